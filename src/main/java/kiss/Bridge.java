@@ -0,0 +1,200 @@
+/*
+ * Copyright (C) 2024 The SINOBU Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package kiss;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+
+/**
+ * The bridge between {@link Signal} and {@link Flow}, which is created by
+ * {@link I#signal(Flow.Publisher)} as {@link Flow.Subscriber} and by {@link Signal#toPublisher()}
+ * as {@link Flow.Subscription}.
+ * <p>
+ * As {@link Flow.Subscriber}, the values are requested from the publisher in batches and the next
+ * batch is requested when 75% of the previous one is consumed. When the subscription is bounded by
+ * demand, the prefetched values are buffered until the downstream requests them.
+ */
+final class Bridge<T> implements Flow.Subscriber<T>, Flow.Subscription {
+
+    /** The number of values to request from {@link Flow.Publisher} at once. */
+    private static final int PREFETCH = 64;
+
+    /** The number of consumed values to refill the request (75% of the prefetch). */
+    private static final int REFILL = PREFETCH - (PREFETCH >> 2);
+
+    /** The downstream. */
+    private final Subscriber<T> observer;
+
+    /** The subscription of this bridge. */
+    private final Disposable disposer;
+
+    /** The upstream subscription. */
+    private Flow.Subscription subscription;
+
+    /** The prefetched values which are not requested by the downstream yet. */
+    private Deque<T> queue;
+
+    /** The pending terminal event, {@link Throwable} or this as completion. */
+    private Object terminal;
+
+    /** The number of consumed values since the last request. */
+    private int consumed;
+
+    /**
+     * Create {@link Flow.Subscriber} which passes the values to the specified {@link Observer}.
+     *
+     * @param observer The downstream.
+     * @param disposer The subscription of the downstream.
+     */
+    Bridge(Observer<? super T> observer, Disposable disposer) {
+        this.observer = new Subscriber();
+        this.observer.observer = observer;
+        this.observer.disposer = disposer;
+        this.disposer = disposer;
+    }
+
+    /**
+     * Create {@link Flow.Subscription} which requests the values of the bounded subscription.
+     *
+     * @param disposer The bounded subscription.
+     * @param error The error receiver of the illegal request.
+     */
+    Bridge(Disposable disposer, Consumer<Throwable> error) {
+        this.observer = new Subscriber();
+        this.observer.error = error;
+        this.disposer = disposer;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        // Reactive Streams rule 2.5
+        if (this.subscription != null || disposer.isDisposed()) {
+            subscription.cancel();
+            return;
+        }
+        this.subscription = subscription;
+        disposer.add(subscription::cancel);
+
+        Demand demand = Demand.limit(disposer);
+        if (demand != null) {
+            Demand emitter = Demand.of(disposer);
+            queue = new ArrayDeque();
+            emitter.emitter = () -> {
+                while (!disposer.isDisposed()) {
+                    T value;
+                    synchronized (this) {
+                        if (queue.isEmpty() || terminal instanceof Throwable || !demand.acquire()) {
+                            break;
+                        }
+                        value = queue.pollFirst();
+                    }
+                    observer.accept(value);
+                    refill();
+                }
+
+                synchronized (this) {
+                    if (terminal == null || (terminal == this && !queue.isEmpty())) {
+                        return;
+                    }
+                }
+                emitter.emitter = null;
+                if (terminal instanceof Throwable e) {
+                    observer.error(e);
+                } else {
+                    observer.complete();
+                }
+            };
+        }
+        subscription.request(PREFETCH);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onNext(T item) {
+        if (queue == null) {
+            observer.accept(item);
+            refill();
+        } else {
+            synchronized (this) {
+                queue.offerLast(item);
+            }
+            Demand.of(disposer).drain();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onError(Throwable e) {
+        if (queue == null) {
+            observer.error(e);
+        } else {
+            synchronized (this) {
+                terminal = e;
+            }
+            Demand.of(disposer).drain();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onComplete() {
+        if (queue == null) {
+            observer.complete();
+        } else {
+            synchronized (this) {
+                terminal = this;
+            }
+            Demand.of(disposer).drain();
+        }
+    }
+
+    /**
+     * Request the next batch when enough prefetched values are consumed.
+     */
+    private void refill() {
+        if (++consumed == REFILL) {
+            consumed = 0;
+            subscription.request(REFILL);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void request(long n) {
+        if (n <= 0) {
+            // Reactive Streams rule 3.9
+            disposer.dispose();
+            observer.error(new IllegalArgumentException("Request must be positive, but was " + n + "."));
+        } else {
+            disposer.request(n);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void cancel() {
+        disposer.dispose();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,197 @@
+/*
+ * Copyright (C) 2024 The SINOBU Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package kiss;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * The demand state of the subscription which is bounded by backpressure (see
+ * {@link Signal#to(Observer, long)}).
+ * <p>
+ * The state is attached to the {@link Subscriber} of the subscription lazily, so the subscription
+ * which is never bounded pays only one null field for it. The child subscription can share the
+ * demand of its parent, the emission of the child is limited by the nearest bounded ancestor.
+ */
+final class Demand {
+
+    private static final AtomicLongFieldUpdater<Demand> REQUESTED = AtomicLongFieldUpdater.newUpdater(Demand.class, "requested");
+
+    private static final AtomicIntegerFieldUpdater<Demand> WIP = AtomicIntegerFieldUpdater.newUpdater(Demand.class, "wip");
+
+    private static final AtomicReferenceFieldUpdater<Subscriber, Demand> STATE = AtomicReferenceFieldUpdater
+            .newUpdater(Subscriber.class, Demand.class, "demand");
+
+    /** The owner subscription. */
+    private final Subscriber owner;
+
+    /** The outstanding demand, {@link Long#MAX_VALUE} means unbounded. */
+    volatile long requested;
+
+    /** The flag whether this subscription is bounded by demand. */
+    volatile boolean bounded;
+
+    /** The work-in-progress counter of the drain loop. */
+    private volatile int wip;
+
+    /** The demand-aware emission, it is invoked whenever demand arrives. */
+    volatile Runnable emitter;
+
+    /** The parent demand which is shared with this. */
+    private Demand share;
+
+    /**
+     * Create the unbounded demand.
+     *
+     * @param owner The owner subscription.
+     */
+    private Demand(Subscriber owner) {
+        this.owner = owner;
+    }
+
+    /**
+     * Request the specified number of additional values and resume the emissions.
+     *
+     * @param n The number of values to request.
+     */
+    void request(long n) {
+        if (0 < n) {
+            long current, next;
+            do {
+                current = requested;
+                next = Long.MAX_VALUE - current <= n ? Long.MAX_VALUE : current + n;
+            } while (!REQUESTED.compareAndSet(this, current, next));
+        }
+        drain();
+    }
+
+    /**
+     * Consume one demand.
+     *
+     * @return A result.
+     */
+    boolean acquire() {
+        long current;
+        do {
+            current = requested;
+
+            if (current == Long.MAX_VALUE) {
+                return true;
+            } else if (current == 0) {
+                return false;
+            }
+        } while (!REQUESTED.compareAndSet(this, current, current - 1));
+        return true;
+    }
+
+    /**
+     * Consume all demands.
+     *
+     * @return The consumed demand.
+     */
+    long take() {
+        long current;
+        do {
+            current = requested;
+
+            if (current == Long.MAX_VALUE) {
+                return current;
+            }
+        } while (!REQUESTED.compareAndSet(this, current, 0L));
+        return current;
+    }
+
+    /**
+     * Run the demand-aware emissions on this and the children which share the demand. Only one
+     * thread can drain at a time, reentrant call makes the running loop retry instead. The disposed
+     * subscription emits nothing.
+     */
+    void drain() {
+        if (WIP.getAndIncrement(this) == 0) {
+            int missed = 1;
+            do {
+                Runnable e = emitter;
+                if (e != null && owner.index == 0) {
+                    e.run();
+                }
+
+                if (owner.o instanceof List children) {
+                    for (Object child : children) {
+                        if (child instanceof Subscriber s && s.demand instanceof Demand demand && demand.share == this) {
+                            demand.drain();
+                        }
+                    }
+                }
+                missed = WIP.addAndGet(this, -missed);
+            } while (missed != 0);
+        }
+    }
+
+    /**
+     * Get the demand state of the specified subscription, it is created if needed.
+     *
+     * @param disposable A target subscription.
+     * @return The demand state.
+     */
+    static Demand of(Disposable disposable) {
+        Subscriber owner = Subscriber.of(disposable);
+        Demand demand = owner.demand;
+
+        if (demand == null) {
+            demand = new Demand(owner);
+            if (!STATE.compareAndSet(owner, null, demand)) {
+                demand = owner.demand;
+            }
+        }
+        return demand;
+    }
+
+    /**
+     * Bound the specified subscription by demand.
+     *
+     * @param disposable A target subscription.
+     * @param request The initial number of values to request.
+     * @return The demand state.
+     */
+    static Demand bound(Disposable disposable, long request) {
+        Demand demand = of(disposable);
+        demand.requested = Math.max(0, request);
+        demand.bounded = true;
+        return demand;
+    }
+
+    /**
+     * Share the demand of the parent subscription with the child subscription.
+     *
+     * @param parent A parent subscription.
+     * @param child A child subscription.
+     */
+    static void share(Disposable parent, Disposable child) {
+        Demand demand = Subscriber.of(parent).demand;
+        if (demand != null) of(child).share = demand;
+    }
+
+    /**
+     * Find the demand which limits the emission of the specified subscription.
+     *
+     * @param disposable A target subscription.
+     * @return The bounded demand or null when the emission is unbounded.
+     */
+    static Demand limit(Disposable disposable) {
+        for (Demand demand = Subscriber.of(disposable).demand; demand != null; demand = demand.share) {
+            if (demand.bounded) {
+                return demand;
+            }
+        }
+        return null;
+    }
+}
\ No newline at end of file
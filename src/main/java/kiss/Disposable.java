@@ -57,6 +57,18 @@ public interface Disposable {
         return Subscriber.of(this).index != 0;
     }
 
+    /**
+     * Request the specified number of additional values. It takes effect only on the subscription
+     * which is bounded by demand (see {@link Signal#to(Observer, long)}), otherwise all values are
+     * pushed without limit.
+     * 
+     * @param n The number of values to request.
+     */
+    default void request(long n) {
+        Demand demand = Demand.limit(this);
+        if (demand != null) demand.request(n);
+    }
+
     /**
      * Append companion {@link Disposable}.
      * 
@@ -0,0 +1,265 @@
+/*
+ * Copyright (C) 2024 The SINOBU Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package kiss;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.function.BooleanSupplier;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * {@link Signal} specialized for primitive {@code double} values. All values flow from the source to
+ * the terminal without boxing, use {@link #boxed()} to continue as {@link Signal}.
+ * <p>
+ * The error thrown by the operator function is propagated to the source and is notified as
+ * {@link Observer#error(Throwable)}. The terminal operations block the caller until the source is
+ * terminated.
+ * </p>
+ * 
+ * @see Signal#mapToDouble(java.util.function.ToDoubleFunction)
+ */
+public class DoubleSignal extends PrimitiveSignal<DoubleSignal, DoubleConsumer> {
+
+    /**
+     * Create {@link DoubleSignal} preassign the specified subscriber which will be invoked whenever you
+     * calls {@link #to(Object)} related methods.
+     * 
+     * @param subscriber A subscriber which receives the value consumer, the terminal event observer
+     *            and the {@link Disposable} of the subscription.
+     */
+    DoubleSignal(WiseTriFunction<DoubleConsumer, Observer<?>, Disposable, Disposable> subscriber) {
+        super(subscriber);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    DoubleSignal create(WiseTriFunction<DoubleConsumer, Observer<?>, Disposable, Disposable> subscriber) {
+        return new DoubleSignal(subscriber);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    DoubleConsumer gate(DoubleConsumer next, BooleanSupplier condition, Runnable action) {
+        return value -> {
+            if (condition.getAsBoolean()) {
+                next.accept(value);
+                action.run();
+            }
+        };
+    }
+
+    /**
+     * Signal the specified values.
+     * 
+     * @param values A list of values to emit.
+     * @return The {@link DoubleSignal} to emit sequential values.
+     */
+    public static DoubleSignal of(double... values) {
+        return new DoubleSignal((next, end, disposer) -> {
+            if (values != null) {
+                for (int i = 0; i < values.length && !disposer.isDisposed(); i++) {
+                    next.accept(values[i]);
+                }
+            }
+            if (!disposer.isDisposed()) end.complete();
+            return disposer;
+        });
+    }
+
+    /**
+     * Convert to {@link Signal} of boxed values.
+     * 
+     * @return {@var ChainableAPI}
+     */
+    public Signal<Double> boxed() {
+        return mapToObj(Double::valueOf);
+    }
+
+    /**
+     * Convert each value to the object.
+     * 
+     * @param function A converter function.
+     * @return {@var ChainableAPI}
+     */
+    public <R> Signal<R> mapToObj(DoubleFunction<R> function) {
+        Objects.requireNonNull(function);
+
+        return signal(observer -> value -> observer.accept(function.apply(value)));
+    }
+
+    /**
+     * Convert each value.
+     * 
+     * @param function A converter function.
+     * @return {@var ChainableAPI}
+     */
+    public DoubleSignal map(DoubleUnaryOperator function) {
+        Objects.requireNonNull(function);
+
+        return pipe(next -> value -> next.accept(function.applyAsDouble(value)));
+    }
+
+    /**
+     * Emit the accumulated value with each value, starting from the specified initial value.
+     * 
+     * @param init An initial value of the accumulation.
+     * @param function An accumulator function.
+     * @return {@var ChainableAPI}
+     */
+    public DoubleSignal scan(double init, DoubleBinaryOperator function) {
+        Objects.requireNonNull(function);
+
+        return pipe(next -> {
+            double[] accumulated = {init};
+
+            return value -> next.accept(accumulated[0] = function.applyAsDouble(accumulated[0], value));
+        });
+    }
+
+    /**
+     * Emit the values that match the given condition.
+     * 
+     * @param condition A value condition.
+     * @return {@var ChainableAPI}
+     */
+    public DoubleSignal take(DoublePredicate condition) {
+        Objects.requireNonNull(condition);
+
+        return pipe(next -> value -> {
+            if (condition.test(value)) next.accept(value);
+        });
+    }
+
+    /**
+     * Accumulate the values and emit them together as primitive array of the specified size. Note
+     * that all unflowed accumulated values at the time of completion will be discarded.
+     * 
+     * @param size A length of each buffer. Zero or negative number are treated exactly the same way
+     *            as 1.
+     * @return {@var ChainableAPI}
+     */
+    public Signal<double[]> buffer(int size) {
+        int length = Math.max(1, size);
+
+        return signal(observer -> {
+            double[][] buffer = {new double[length]};
+            int[] index = {0};
+
+            return value -> {
+                buffer[0][index[0]++] = value;
+
+                if (index[0] == length) {
+                    double[] values = buffer[0];
+                    buffer[0] = new double[length];
+                    index[0] = 0;
+                    observer.accept(values);
+                }
+            };
+        });
+    }
+
+    /**
+     * Receive all values as array.
+     * 
+     * @return All values.
+     */
+    public double[] toArray() {
+        double[][] array = {new double[16]};
+        int[] size = {0};
+
+        await(value -> {
+            if (size[0] == array[0].length) array[0] = Arrays.copyOf(array[0], size[0] << 1);
+            array[0][size[0]++] = value;
+        });
+        return Arrays.copyOf(array[0], size[0]);
+    }
+
+    /**
+     * Compute the sum of all values. The compensated summation is used to reduce the numerical
+     * error.
+     * 
+     * @return The sum of all values.
+     */
+    public double sum() {
+        return summarize()[0];
+    }
+
+    /**
+     * Compute the minimum value.
+     * 
+     * @return The minimum value or empty if no value is emitted.
+     */
+    public OptionalDouble min() {
+        return reduce(Math::min);
+    }
+
+    /**
+     * Compute the maximum value.
+     * 
+     * @return The maximum value or empty if no value is emitted.
+     */
+    public OptionalDouble max() {
+        return reduce(Math::max);
+    }
+
+    /**
+     * Compute the arithmetic mean of all values.
+     * 
+     * @return The average or empty if no value is emitted.
+     */
+    public OptionalDouble average() {
+        double[] summary = summarize();
+        return summary[2] == 0 ? OptionalDouble.empty() : OptionalDouble.of(summary[0] / summary[2]);
+    }
+
+    /**
+     * Compute the sum by Kahan summation.
+     * 
+     * @return The sum, the compensation and the number of values.
+     */
+    private double[] summarize() {
+        double[] summary = {0, 0, 0};
+
+        await(value -> {
+            double y = value - summary[1];
+            double t = summary[0] + y;
+            summary[1] = (t - summary[0]) - y;
+            summary[0] = t;
+            summary[2]++;
+        });
+        return summary;
+    }
+
+    /**
+     * Reduce all values by the specified accumulator.
+     * 
+     * @param function An accumulator function.
+     * @return The reduced value or empty if no value is emitted.
+     */
+    private OptionalDouble reduce(DoubleBinaryOperator function) {
+        double[] result = {0};
+        boolean[] emitted = {false};
+
+        await(value -> {
+            result[0] = emitted[0] ? function.applyAsDouble(result[0], value) : value;
+            emitted[0] = true;
+        });
+        return emitted[0] ? OptionalDouble.of(result[0]) : OptionalDouble.empty();
+    }
+}
\ No newline at end of file
@@ -73,6 +73,7 @@ import java.util.WeakHashMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -2184,6 +2185,23 @@ public class I implements ParameterizedType {
         return I.signal((V[]) null).startWith(values);
     }
 
+    /**
+     * Signal the values which are published by the specified {@link Flow.Publisher}. The values are
+     * requested in batches and the next batch is requested when 75% of the previous one is consumed,
+     * so the number of values in flight is always bounded. When the {@link Signal} is subscribed
+     * with demand (see {@link Signal#to(Observer, long)}), the values are requested only as the
+     * downstream consumes them.
+     *
+     * @param publisher A source {@link Flow.Publisher}.
+     * @return The {@link Signal} to emit the published values.
+     */
+    public static <V> Signal<V> signal(Flow.Publisher<V> publisher) {
+        return new Signal<>((observer, disposer) -> {
+            publisher.subscribe(new Bridge<V>(observer, disposer));
+            return disposer;
+        });
+    }
+
     /**
      * {@link Signal} the specified values.
      *
@@ -2679,6 +2697,71 @@ public class I implements ParameterizedType {
         return I.xml(null, input);
     }
 
+    /**
+     * Read the specified XML file progressively and emit each element with the specified name as
+     * a detached {@link XML} fragment. Unlike {@link #xml(Path)}, the whole document is never
+     * loaded into memory, so the file of any size can be processed.
+     * <pre>{@code
+     * I.xmlStream(Path.of("feed.xml"), "item").map(item -> item.find("title").text()).to(title -> {
+     *     // process each title
+     * });
+     * }</pre>
+     *
+     * @param input Path to the XML file.
+     * @param name A qualified name of the element to emit.
+     * @return A {@link Signal} which emits the matched elements in document order.
+     * @throws NullPointerException If the input data is <code>null</code>.
+     */
+    public static Signal<XML> xmlStream(Path input, String name) {
+        return XML.stream(() -> Files.newInputStream(input), name);
+    }
+
+    /**
+     * Read the specified XML stream progressively and emit each element with the specified name
+     * as a detached {@link XML} fragment. Unlike {@link #xml(InputStream)}, the whole document is
+     * never loaded into memory, so the stream of any size can be processed. The stream is closed
+     * at the end of reading, so the returned {@link Signal} can be subscribed only once.
+     *
+     * @param input Byte stream of xml representation.
+     * @param name A qualified name of the element to emit.
+     * @return A {@link Signal} which emits the matched elements in document order.
+     * @throws NullPointerException If the input data is <code>null</code>.
+     */
+    public static Signal<XML> xmlStream(InputStream input, String name) {
+        return XML.stream(() -> input, name);
+    }
+
+    /**
+     * Read the specified XML file progressively and map each element with the specified name to
+     * your model. The whole document is never loaded into memory.
+     *
+     * @param input Path to the XML file.
+     * @param name A qualified name of the element to map.
+     * @param type A model type.
+     * @return A {@link Signal} which emits the mapped models in document order.
+     * @throws NullPointerException If the input data is <code>null</code>.
+     * @see XML#as(Class)
+     */
+    public static <M> Signal<M> xmlStream(Path input, String name, Class<M> type) {
+        return xmlStream(input, name).map(xml -> xml.as(type));
+    }
+
+    /**
+     * Read the specified XML stream progressively and map each element with the specified name to
+     * your model. The whole document is never loaded into memory. The stream is closed at the end
+     * of reading, so the returned {@link Signal} can be subscribed only once.
+     *
+     * @param input Byte stream of xml representation.
+     * @param name A qualified name of the element to map.
+     * @param type A model type.
+     * @return A {@link Signal} which emits the mapped models in document order.
+     * @throws NullPointerException If the input data is <code>null</code>.
+     * @see XML#as(Class)
+     */
+    public static <M> Signal<M> xmlStream(InputStream input, String name, Class<M> type) {
+        return xmlStream(input, name).map(xml -> xml.as(type));
+    }
+
     /**
      * Parse the specified XML format text.
      *
@@ -0,0 +1,271 @@
+/*
+ * Copyright (C) 2024 The SINOBU Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package kiss;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * {@link Signal} specialized for primitive {@code int} values. All values flow from the source to
+ * the terminal without boxing, use {@link #boxed()} to continue as {@link Signal}.
+ * <p>
+ * The error thrown by the operator function is propagated to the source and is notified as
+ * {@link Observer#error(Throwable)}. The terminal operations block the caller until the source is
+ * terminated.
+ * </p>
+ * 
+ * @see Signal#mapToInt(java.util.function.ToIntFunction)
+ */
+public class IntSignal extends PrimitiveSignal<IntSignal, IntConsumer> {
+
+    /**
+     * Create {@link IntSignal} preassign the specified subscriber which will be invoked whenever you
+     * calls {@link #to(Object)} related methods.
+     * 
+     * @param subscriber A subscriber which receives the value consumer, the terminal event observer
+     *            and the {@link Disposable} of the subscription.
+     */
+    IntSignal(WiseTriFunction<IntConsumer, Observer<?>, Disposable, Disposable> subscriber) {
+        super(subscriber);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    IntSignal create(WiseTriFunction<IntConsumer, Observer<?>, Disposable, Disposable> subscriber) {
+        return new IntSignal(subscriber);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    IntConsumer gate(IntConsumer next, BooleanSupplier condition, Runnable action) {
+        return value -> {
+            if (condition.getAsBoolean()) {
+                next.accept(value);
+                action.run();
+            }
+        };
+    }
+
+    /**
+     * Signal the specified values.
+     * 
+     * @param values A list of values to emit.
+     * @return The {@link IntSignal} to emit sequential values.
+     */
+    public static IntSignal of(int... values) {
+        return new IntSignal((next, end, disposer) -> {
+            if (values != null) {
+                for (int i = 0; i < values.length && !disposer.isDisposed(); i++) {
+                    next.accept(values[i]);
+                }
+            }
+            if (!disposer.isDisposed()) end.complete();
+            return disposer;
+        });
+    }
+
+    /**
+     * Signal the sequential values from the start (inclusive) to the end (exclusive).
+     * 
+     * @param startInclusive The first value.
+     * @param endExclusive The upper bound.
+     * @return The {@link IntSignal} to emit sequential values.
+     */
+    public static IntSignal range(int startInclusive, int endExclusive) {
+        return new IntSignal((next, end, disposer) -> {
+            for (int i = startInclusive; i < endExclusive && !disposer.isDisposed(); i++) {
+                next.accept(i);
+            }
+            if (!disposer.isDisposed()) end.complete();
+            return disposer;
+        });
+    }
+
+    /**
+     * Convert to {@link Signal} of boxed values.
+     * 
+     * @return {@var ChainableAPI}
+     */
+    public Signal<Integer> boxed() {
+        return mapToObj(Integer::valueOf);
+    }
+
+    /**
+     * Convert each value to the object.
+     * 
+     * @param function A converter function.
+     * @return {@var ChainableAPI}
+     */
+    public <R> Signal<R> mapToObj(IntFunction<R> function) {
+        Objects.requireNonNull(function);
+
+        return signal(observer -> value -> observer.accept(function.apply(value)));
+    }
+
+    /**
+     * Convert each value.
+     * 
+     * @param function A converter function.
+     * @return {@var ChainableAPI}
+     */
+    public IntSignal map(IntUnaryOperator function) {
+        Objects.requireNonNull(function);
+
+        return pipe(next -> value -> next.accept(function.applyAsInt(value)));
+    }
+
+    /**
+     * Emit the accumulated value with each value, starting from the specified initial value.
+     * 
+     * @param init An initial value of the accumulation.
+     * @param function An accumulator function.
+     * @return {@var ChainableAPI}
+     */
+    public IntSignal scan(int init, IntBinaryOperator function) {
+        Objects.requireNonNull(function);
+
+        return pipe(next -> {
+            int[] accumulated = {init};
+
+            return value -> next.accept(accumulated[0] = function.applyAsInt(accumulated[0], value));
+        });
+    }
+
+    /**
+     * Emit the values that match the given condition.
+     * 
+     * @param condition A value condition.
+     * @return {@var ChainableAPI}
+     */
+    public IntSignal take(IntPredicate condition) {
+        Objects.requireNonNull(condition);
+
+        return pipe(next -> value -> {
+            if (condition.test(value)) next.accept(value);
+        });
+    }
+
+    /**
+     * Accumulate the values and emit them together as primitive array of the specified size. Note
+     * that all unflowed accumulated values at the time of completion will be discarded.
+     * 
+     * @param size A length of each buffer. Zero or negative number are treated exactly the same way
+     *            as 1.
+     * @return {@var ChainableAPI}
+     */
+    public Signal<int[]> buffer(int size) {
+        int length = Math.max(1, size);
+
+        return signal(observer -> {
+            int[][] buffer = {new int[length]};
+            int[] index = {0};
+
+            return value -> {
+                buffer[0][index[0]++] = value;
+
+                if (index[0] == length) {
+                    int[] values = buffer[0];
+                    buffer[0] = new int[length];
+                    index[0] = 0;
+                    observer.accept(values);
+                }
+            };
+        });
+    }
+
+    /**
+     * Receive all values as array.
+     * 
+     * @return All values.
+     */
+    public int[] toArray() {
+        int[][] array = {new int[16]};
+        int[] size = {0};
+
+        await(value -> {
+            if (size[0] == array[0].length) array[0] = Arrays.copyOf(array[0], size[0] << 1);
+            array[0][size[0]++] = value;
+        });
+        return Arrays.copyOf(array[0], size[0]);
+    }
+
+    /**
+     * Compute the sum of all values.
+     * 
+     * @return The sum of all values.
+     */
+    public int sum() {
+        int[] sum = {0};
+        await(value -> sum[0] += value);
+        return sum[0];
+    }
+
+    /**
+     * Compute the minimum value.
+     * 
+     * @return The minimum value or empty if no value is emitted.
+     */
+    public OptionalInt min() {
+        return reduce(Math::min);
+    }
+
+    /**
+     * Compute the maximum value.
+     * 
+     * @return The maximum value or empty if no value is emitted.
+     */
+    public OptionalInt max() {
+        return reduce(Math::max);
+    }
+
+    /**
+     * Compute the arithmetic mean of all values.
+     * 
+     * @return The average or empty if no value is emitted.
+     */
+    public OptionalDouble average() {
+        long[] sum = {0, 0};
+
+        await(value -> {
+            sum[0] += value;
+            sum[1]++;
+        });
+        return sum[1] == 0 ? OptionalDouble.empty() : OptionalDouble.of((double) sum[0] / sum[1]);
+    }
+
+    /**
+     * Reduce all values by the specified accumulator.
+     * 
+     * @param function An accumulator function.
+     * @return The reduced value or empty if no value is emitted.
+     */
+    private OptionalInt reduce(IntBinaryOperator function) {
+        int[] result = {0};
+        boolean[] emitted = {false};
+
+        await(value -> {
+            result[0] = emitted[0] ? function.applyAsInt(result[0], value) : value;
+            emitted[0] = true;
+        });
+        return emitted[0] ? OptionalInt.of(result[0]) : OptionalInt.empty();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,271 @@
+/*
+ * Copyright (C) 2024 The SINOBU Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package kiss;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.OptionalLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * {@link Signal} specialized for primitive {@code long} values. All values flow from the source to
+ * the terminal without boxing, use {@link #boxed()} to continue as {@link Signal}.
+ * <p>
+ * The error thrown by the operator function is propagated to the source and is notified as
+ * {@link Observer#error(Throwable)}. The terminal operations block the caller until the source is
+ * terminated.
+ * </p>
+ * 
+ * @see Signal#mapToLong(java.util.function.ToLongFunction)
+ */
+public class LongSignal extends PrimitiveSignal<LongSignal, LongConsumer> {
+
+    /**
+     * Create {@link LongSignal} preassign the specified subscriber which will be invoked whenever you
+     * calls {@link #to(Object)} related methods.
+     * 
+     * @param subscriber A subscriber which receives the value consumer, the terminal event observer
+     *            and the {@link Disposable} of the subscription.
+     */
+    LongSignal(WiseTriFunction<LongConsumer, Observer<?>, Disposable, Disposable> subscriber) {
+        super(subscriber);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    LongSignal create(WiseTriFunction<LongConsumer, Observer<?>, Disposable, Disposable> subscriber) {
+        return new LongSignal(subscriber);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    LongConsumer gate(LongConsumer next, BooleanSupplier condition, Runnable action) {
+        return value -> {
+            if (condition.getAsBoolean()) {
+                next.accept(value);
+                action.run();
+            }
+        };
+    }
+
+    /**
+     * Signal the specified values.
+     * 
+     * @param values A list of values to emit.
+     * @return The {@link LongSignal} to emit sequential values.
+     */
+    public static LongSignal of(long... values) {
+        return new LongSignal((next, end, disposer) -> {
+            if (values != null) {
+                for (int i = 0; i < values.length && !disposer.isDisposed(); i++) {
+                    next.accept(values[i]);
+                }
+            }
+            if (!disposer.isDisposed()) end.complete();
+            return disposer;
+        });
+    }
+
+    /**
+     * Signal the sequential values from the start (inclusive) to the end (exclusive).
+     * 
+     * @param startInclusive The first value.
+     * @param endExclusive The upper bound.
+     * @return The {@link LongSignal} to emit sequential values.
+     */
+    public static LongSignal range(long startInclusive, long endExclusive) {
+        return new LongSignal((next, end, disposer) -> {
+            for (long i = startInclusive; i < endExclusive && !disposer.isDisposed(); i++) {
+                next.accept(i);
+            }
+            if (!disposer.isDisposed()) end.complete();
+            return disposer;
+        });
+    }
+
+    /**
+     * Convert to {@link Signal} of boxed values.
+     * 
+     * @return {@var ChainableAPI}
+     */
+    public Signal<Long> boxed() {
+        return mapToObj(Long::valueOf);
+    }
+
+    /**
+     * Convert each value to the object.
+     * 
+     * @param function A converter function.
+     * @return {@var ChainableAPI}
+     */
+    public <R> Signal<R> mapToObj(LongFunction<R> function) {
+        Objects.requireNonNull(function);
+
+        return signal(observer -> value -> observer.accept(function.apply(value)));
+    }
+
+    /**
+     * Convert each value.
+     * 
+     * @param function A converter function.
+     * @return {@var ChainableAPI}
+     */
+    public LongSignal map(LongUnaryOperator function) {
+        Objects.requireNonNull(function);
+
+        return pipe(next -> value -> next.accept(function.applyAsLong(value)));
+    }
+
+    /**
+     * Emit the accumulated value with each value, starting from the specified initial value.
+     * 
+     * @param init An initial value of the accumulation.
+     * @param function An accumulator function.
+     * @return {@var ChainableAPI}
+     */
+    public LongSignal scan(long init, LongBinaryOperator function) {
+        Objects.requireNonNull(function);
+
+        return pipe(next -> {
+            long[] accumulated = {init};
+
+            return value -> next.accept(accumulated[0] = function.applyAsLong(accumulated[0], value));
+        });
+    }
+
+    /**
+     * Emit the values that match the given condition.
+     * 
+     * @param condition A value condition.
+     * @return {@var ChainableAPI}
+     */
+    public LongSignal take(LongPredicate condition) {
+        Objects.requireNonNull(condition);
+
+        return pipe(next -> value -> {
+            if (condition.test(value)) next.accept(value);
+        });
+    }
+
+    /**
+     * Accumulate the values and emit them together as primitive array of the specified size. Note
+     * that all unflowed accumulated values at the time of completion will be discarded.
+     * 
+     * @param size A length of each buffer. Zero or negative number are treated exactly the same way
+     *            as 1.
+     * @return {@var ChainableAPI}
+     */
+    public Signal<long[]> buffer(int size) {
+        int length = Math.max(1, size);
+
+        return signal(observer -> {
+            long[][] buffer = {new long[length]};
+            int[] index = {0};
+
+            return value -> {
+                buffer[0][index[0]++] = value;
+
+                if (index[0] == length) {
+                    long[] values = buffer[0];
+                    buffer[0] = new long[length];
+                    index[0] = 0;
+                    observer.accept(values);
+                }
+            };
+        });
+    }
+
+    /**
+     * Receive all values as array.
+     * 
+     * @return All values.
+     */
+    public long[] toArray() {
+        long[][] array = {new long[16]};
+        int[] size = {0};
+
+        await(value -> {
+            if (size[0] == array[0].length) array[0] = Arrays.copyOf(array[0], size[0] << 1);
+            array[0][size[0]++] = value;
+        });
+        return Arrays.copyOf(array[0], size[0]);
+    }
+
+    /**
+     * Compute the sum of all values.
+     * 
+     * @return The sum of all values.
+     */
+    public long sum() {
+        long[] sum = {0};
+        await(value -> sum[0] += value);
+        return sum[0];
+    }
+
+    /**
+     * Compute the minimum value.
+     * 
+     * @return The minimum value or empty if no value is emitted.
+     */
+    public OptionalLong min() {
+        return reduce(Math::min);
+    }
+
+    /**
+     * Compute the maximum value.
+     * 
+     * @return The maximum value or empty if no value is emitted.
+     */
+    public OptionalLong max() {
+        return reduce(Math::max);
+    }
+
+    /**
+     * Compute the arithmetic mean of all values.
+     * 
+     * @return The average or empty if no value is emitted.
+     */
+    public OptionalDouble average() {
+        long[] sum = {0, 0};
+
+        await(value -> {
+            sum[0] += value;
+            sum[1]++;
+        });
+        return sum[1] == 0 ? OptionalDouble.empty() : OptionalDouble.of((double) sum[0] / sum[1]);
+    }
+
+    /**
+     * Reduce all values by the specified accumulator.
+     * 
+     * @param function An accumulator function.
+     * @return The reduced value or empty if no value is emitted.
+     */
+    private OptionalLong reduce(LongBinaryOperator function) {
+        long[] result = {0};
+        boolean[] emitted = {false};
+
+        await(value -> {
+            result[0] = emitted[0] ? function.applyAsLong(result[0], value) : value;
+            emitted[0] = true;
+        });
+        return emitted[0] ? OptionalLong.of(result[0]) : OptionalLong.empty();
+    }
+}
\ No newline at end of file
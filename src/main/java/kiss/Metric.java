@@ -0,0 +1,235 @@
+/*
+ * Copyright (C) 2024 The SINOBU Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package kiss;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The snapshot of the named measuring point which is inserted by {@link Signal#measure(String)}.
+ * <p>
+ * Each measuring point counts the values, errors and completions which pass through it and the time
+ * spent in the downstream {@link Observer#accept(Object)}, so the difference of the times between
+ * two measuring points is the cost of operators between them. The difference of the value counts
+ * between the measuring points before and after the asynchronous boundary (e.g.
+ * {@link Signal#on(java.util.function.Consumer)}) is the depth of its queue, see
+ * {@link #pending(Metric)}. The pipeline without measuring point has no overhead at all.
+ * <p>
+ * The counters of a measuring point are created by its first subscription and live until they are
+ * released by {@link #reset(String)} or {@link #clear()} while no subscription is active.
+ */
+public final class Metric {
+
+    /** The index of value counter. */
+    static final int VALUE = 0;
+
+    /** The index of error counter. */
+    static final int ERROR = 1;
+
+    /** The index of completion counter. */
+    static final int COMPLETE = 2;
+
+    /** The index of elapsed time counter. */
+    static final int TIME = 3;
+
+    /** The index of active subscription counter. */
+    static final int SUBSCRIPTION = 4;
+
+    /** The live counters of all measuring points. */
+    private static final Map<String, LongAdder[]> meters = new ConcurrentHashMap();
+
+    /** The counters of the unknown measuring point. */
+    private static final LongAdder[] NONE = {new LongAdder(), new LongAdder(), new LongAdder(), new LongAdder(), new LongAdder()};
+
+    /** The name of measuring point. */
+    private final String name;
+
+    /** The counted values. */
+    private final long[] counts;
+
+    /**
+     * Create snapshot.
+     *
+     * @param name A name of measuring point.
+     * @param meter The live counters.
+     */
+    private Metric(String name, LongAdder[] meter) {
+        this.name = name;
+        this.counts = new long[meter.length];
+
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = meter[i].sum();
+        }
+    }
+
+    /**
+     * Get the name of measuring point.
+     *
+     * @return A name.
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Get the number of values which passed through the measuring point.
+     *
+     * @return A number of values.
+     */
+    public long values() {
+        return counts[VALUE];
+    }
+
+    /**
+     * Get the number of errors which passed through the measuring point.
+     *
+     * @return A number of errors.
+     */
+    public long errors() {
+        return counts[ERROR];
+    }
+
+    /**
+     * Get the number of completions which passed through the measuring point.
+     *
+     * @return A number of completions.
+     */
+    public long completes() {
+        return counts[COMPLETE];
+    }
+
+    /**
+     * Get the number of active subscriptions of the measuring point.
+     *
+     * @return A number of subscriptions.
+     */
+    public long subscriptions() {
+        return counts[SUBSCRIPTION];
+    }
+
+    /**
+     * Get the total time spent in the downstream.
+     *
+     * @param unit A time unit.
+     * @return A total time.
+     */
+    public long time(TimeUnit unit) {
+        return unit.convert(counts[TIME], TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Get the average time (ns) spent in the downstream per value.
+     *
+     * @return An average time or 0 if no value has passed.
+     */
+    public double average() {
+        return counts[VALUE] == 0 ? 0 : (double) counts[TIME] / counts[VALUE];
+    }
+
+    /**
+     * Compute the number of values which passed through this measuring point but not the specified
+     * downstream measuring point yet, it is the depth of the queue at the asynchronous boundary
+     * between them.
+     *
+     * @param downstream A downstream measuring point.
+     * @return A number of pending values.
+     */
+    public long pending(Metric downstream) {
+        return Math.max(0, counts[VALUE] - downstream.counts[VALUE]);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return name + "[values=" + values() + ", errors=" + errors() + ", completes=" + completes() + ", subscriptions=" + subscriptions() + ", average=" + average() + "ns]";
+    }
+
+    /**
+     * Get the live counters of the specified measuring point and count up its active subscriptions.
+     * The counters are created if needed, the creation and the count are atomic against
+     * {@link #reset(String)}.
+     *
+     * @param name A name of measuring point.
+     * @return The live counters.
+     */
+    static LongAdder[] subscribe(String name) {
+        return meters.compute(name, (key, meter) -> {
+            if (meter == null) {
+                meter = new LongAdder[] {new LongAdder(), new LongAdder(), new LongAdder(), new LongAdder(), new LongAdder()};
+            }
+            meter[SUBSCRIPTION].increment();
+            return meter;
+        });
+    }
+
+    /**
+     * Take the snapshot of the specified measuring point.
+     *
+     * @param name A name of measuring point.
+     * @return A snapshot.
+     */
+    public static Metric of(String name) {
+        return new Metric(name, meters.getOrDefault(name, NONE));
+    }
+
+    /**
+     * Take the snapshots of all measuring points in the order of name.
+     *
+     * @return All snapshots.
+     */
+    public static List<Metric> all() {
+        List<Metric> metrics = new ArrayList();
+        meters.forEach((name, meter) -> metrics.add(new Metric(name, meter)));
+        metrics.sort(Comparator.comparing(Metric::name));
+        return metrics;
+    }
+
+    /**
+     * Observe the snapshots of all measuring points periodically.
+     *
+     * @param interval The interval time.
+     * @param unit The time unit.
+     * @param scheduler The task scheduler.
+     * @return {@link Signal} that emits the snapshots of all measuring points.
+     */
+    public static Signal<List<Metric>> observe(long interval, TimeUnit unit, ScheduledExecutorService... scheduler) {
+        return I.schedule(0, interval, unit, true, scheduler).map(v -> all());
+    }
+
+    /**
+     * Reset the counters of the specified measuring point except for the active subscriptions. If
+     * no subscription is active, the measuring point is released entirely.
+     *
+     * @param name A name of measuring point.
+     */
+    public static void reset(String name) {
+        meters.computeIfPresent(name, (key, meter) -> {
+            for (int i = 0; i < SUBSCRIPTION; i++) {
+                meter[i].reset();
+            }
+            return meter[SUBSCRIPTION].sum() == 0 ? null : meter;
+        });
+    }
+
+    /**
+     * Reset all measuring points, see {@link #reset(String)}.
+     */
+    public static void clear() {
+        meters.keySet().forEach(Metric::reset);
+    }
+}
\ No newline at end of file
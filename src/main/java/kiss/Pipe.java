@@ -0,0 +1,191 @@
+/*
+ * Copyright (C) 2024 The SINOBU Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package kiss;
+
+import java.lang.ref.Cleaner;
+import java.lang.ref.Cleaner.Cleanable;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The pull-based bridge from {@link Signal} which is created by {@link Signal#toIterator(int)} and
+ * {@link Signal#toStream()}.
+ * <p>
+ * The source is subscribed on creation and its values are passed through the bounded blocking
+ * queue. The subscription requests only the prefetch number of values and requests one more value
+ * whenever the consumer takes one, so the demand-aware source never fills up the queue. The source
+ * which ignores demand is blocked by the full queue instead. Both sides park on the queue, it is
+ * cheap on virtual threads.
+ * <p>
+ * The subscription is disposed when the source is terminated, this pipe is disposed or this pipe
+ * becomes unreachable.
+ */
+final class Pipe<V> implements Iterator<V>, Disposable {
+
+    /** The cleaner of the abandoned pipes. */
+    private static final Cleaner cleaner = Cleaner.create();
+
+    /** The replacement of null value. */
+    private static final Object NULL = new Object();
+
+    /** The end of values. */
+    private static final Object END = new Object();
+
+    /** The value buffer, it has the extra space for {@link #END}. */
+    private final BlockingQueue<Object> queue;
+
+    /** The bounded subscription. */
+    private final Disposable demand = Disposable.empty();
+
+    /** The error of the source. */
+    private final AtomicReference<Throwable> error = new AtomicReference();
+
+    /** The disposer of the subscription. */
+    private final Cleanable cleanable;
+
+    /** The taken value, this means nothing. */
+    private Object next = this;
+
+    /**
+     * Create the pipe.
+     *
+     * @param signal The source signal.
+     * @param prefetch The number of values to buffer.
+     */
+    Pipe(Signal<V> signal, int prefetch) {
+        this.queue = new ArrayBlockingQueue(prefetch + 1);
+        Demand.bound(this.demand, prefetch);
+
+        // The clean action must not refer this pipe, otherwise it will never be unreachable.
+        Disposable demand = this.demand;
+        BlockingQueue queue = this.queue;
+        this.cleanable = cleaner.register(this, () -> {
+            demand.dispose();
+            // release the blocked source
+            queue.clear();
+        });
+
+        subscribe((Signal) signal, queue, demand, error);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasNext() {
+        if (next == this) {
+            try {
+                next = queue.take();
+            } catch (InterruptedException e) {
+                dispose();
+                throw I.quiet(e);
+            }
+
+            if (next == END) {
+                dispose();
+
+                Throwable e = error.getAndSet(null);
+                if (e != null) throw I.quiet(e);
+            } else {
+                demand.request(1);
+            }
+        }
+        return next != END;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        Object value = next;
+        next = this;
+        return value == NULL ? null : (V) value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void vandalize() {
+        next = END;
+        cleanable.clean();
+    }
+
+    /**
+     * Subscribe the source on the background and wait until the subscription is established or the
+     * source starts emitting, so the hot source never misses the values which are emitted after the
+     * creation of pipe. This method is static not to refer the pipe from the source.
+     *
+     * @param signal The source signal.
+     * @param queue The value buffer.
+     * @param demand The bounded subscription.
+     * @param error The error holder.
+     */
+    private static void subscribe(Signal<Object> signal, BlockingQueue queue, Disposable demand, AtomicReference<Throwable> error) {
+        Subscriber<Object> subscriber = new Subscriber();
+        subscriber.index = 1;
+        subscriber.disposer = demand;
+        CountDownLatch ready = new CountDownLatch(1);
+        subscriber.next = value -> put(queue, demand, ready, error, value == null ? NULL : value);
+        subscriber.error = e -> {
+            error.set(e);
+            put(queue, demand, ready, error, END);
+        };
+        subscriber.complete = () -> put(queue, demand, ready, error, END);
+
+        I.Jobs.execute(() -> {
+            signal.to(subscriber, demand);
+            ready.countDown();
+        });
+
+        try {
+            ready.await();
+        } catch (InterruptedException e) {
+            demand.dispose();
+            throw I.quiet(e);
+        }
+    }
+
+    /**
+     * Pass the value to the consumer, the caller is blocked while the buffer is full. When the
+     * caller is interrupted, the subscription is disposed and the consumer receives the interruption
+     * as the error instead of the remaining values.
+     *
+     * @param queue The value buffer.
+     * @param demand The bounded subscription.
+     * @param ready The subscription waiter.
+     * @param error The error holder.
+     * @param value A value to pass.
+     */
+    private static void put(BlockingQueue queue, Disposable demand, CountDownLatch ready, AtomicReference<Throwable> error, Object value) {
+        ready.countDown();
+
+        try {
+            if (!demand.isDisposed()) queue.put(value);
+        } catch (InterruptedException e) {
+            demand.dispose();
+            error.compareAndSet(null, e);
+
+            // wake up the waiting consumer, the full buffer is discarded to make room for the end
+            queue.clear();
+            queue.offer(END);
+            Thread.currentThread().interrupt();
+        }
+    }
+}
\ No newline at end of file
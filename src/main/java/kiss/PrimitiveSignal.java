@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2024 The SINOBU Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package kiss;
+
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * The common implementation of {@link IntSignal}, {@link LongSignal} and {@link DoubleSignal}. The
+ * subscription, the error handling, the operators which don't touch the value itself and the
+ * terminal operation are shared here, so the subclass implements only the operators which depend
+ * on the primitive type.
+ * <p>
+ * The terminal operations (toArray, sum, min, max and so on) block the caller until the source is
+ * terminated, so the asynchronous source returns the complete result.
+ * </p>
+ * 
+ * @param <S> The self type.
+ * @param <C> The primitive value consumer type.
+ */
+abstract class PrimitiveSignal<S extends PrimitiveSignal<S, C>, C> {
+
+    /**
+     * The subscriber.
+     */
+    private final WiseTriFunction<C, Observer<?>, Disposable, Disposable> subscriber;
+
+    /**
+     * Create signal preassign the specified subscriber.
+     * 
+     * @param subscriber A subscriber which receives the value consumer, the terminal event observer
+     *            and the {@link Disposable} of the subscription.
+     */
+    PrimitiveSignal(WiseTriFunction<C, Observer<?>, Disposable, Disposable> subscriber) {
+        this.subscriber = Objects.requireNonNull(subscriber);
+    }
+
+    /**
+     * Create the signal of the same type.
+     * 
+     * @param subscriber A subscriber.
+     * @return A created signal.
+     */
+    abstract S create(WiseTriFunction<C, Observer<?>, Disposable, Disposable> subscriber);
+
+    /**
+     * Create the value consumer which passes the value to the next consumer only while the
+     * condition holds and runs the action after each passed value.
+     * 
+     * @param next The next consumer.
+     * @param condition A condition to pass the value.
+     * @param action An action after the passed value.
+     * @return A created consumer.
+     */
+    abstract C gate(C next, BooleanSupplier condition, Runnable action);
+
+    /**
+     * Receive values from this signal.
+     * 
+     * @param next A value receiver.
+     * @return Calling {@link Disposable#dispose()} will dispose this subscription.
+     */
+    public final Disposable to(C next) {
+        return to(next, null, (Runnable) null);
+    }
+
+    /**
+     * Receive values from this signal.
+     * 
+     * @param next A value receiver.
+     * @param error An error receiver.
+     * @param complete A completion receiver.
+     * @return Calling {@link Disposable#dispose()} will dispose this subscription.
+     */
+    public final Disposable to(C next, Consumer<Throwable> error, Runnable complete) {
+        Subscriber end = new Subscriber();
+        end.index = 1;
+        end.disposer = Disposable.empty();
+        end.error = error;
+        end.complete = complete;
+
+        return to(Objects.requireNonNull(next), end, end.disposer);
+    }
+
+    /**
+     * Receive values from this signal.
+     * 
+     * @param next A value receiver.
+     * @param end A terminal event receiver.
+     * @param disposer A {@link Disposable} of this subscription.
+     * @return Calling {@link Disposable#dispose()} will dispose this subscription.
+     */
+    final Disposable to(C next, Observer<?> end, Disposable disposer) {
+        try {
+            return subscriber.apply(next, end, disposer);
+        } catch (Throwable e) {
+            end.error(e);
+            return disposer;
+        }
+    }
+
+    /**
+     * Receive all values and wait until this signal is terminated. The error of this signal is
+     * thrown.
+     * 
+     * @param next A value receiver.
+     */
+    final void await(C next) {
+        CountDownLatch latch = new CountDownLatch(1);
+        Throwable[] error = {null};
+
+        to(next, e -> {
+            error[0] = e;
+            latch.countDown();
+        }, (Runnable) latch::countDown);
+
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw I.quiet(e);
+        }
+        if (error[0] != null) throw I.quiet(error[0]);
+    }
+
+    /**
+     * Apply the operator which creates the value consumer per subscription, so the consumer can
+     * hold its own state.
+     * 
+     * @param operator An operator which receives the next consumer and returns the value consumer.
+     * @return {@var ChainableAPI}
+     */
+    final S pipe(Function<C, C> operator) {
+        Objects.requireNonNull(operator);
+
+        return create((next, end, disposer) -> to(operator.apply(next), end, disposer));
+    }
+
+    /**
+     * Convert to {@link Signal}.
+     * 
+     * @param converter A converter which receives the {@link Observer} and returns the value
+     *            consumer.
+     * @return {@var ChainableAPI}
+     */
+    final <R> Signal<R> signal(Function<Observer<R>, C> converter) {
+        return new Signal<>((observer, disposer) -> to(converter.apply(observer), observer, disposer));
+    }
+
+    /**
+     * Emit the specified number of values from the start, and then complete.
+     * 
+     * @param count A number of values to emit.
+     * @return {@var ChainableAPI}
+     */
+    public final S take(long count) {
+        return create((next, end, disposer) -> {
+            if (count <= 0) {
+                end.complete();
+                disposer.dispose();
+                return disposer;
+            }
+
+            long[] remaining = {count};
+            return to(gate(next, () -> 0 < remaining[0], () -> {
+                if (--remaining[0] == 0) {
+                    end.complete();
+                    disposer.dispose();
+                }
+            }), end, disposer);
+        });
+    }
+}
\ No newline at end of file
@@ -10,9 +10,18 @@
 package kiss;
 
 import static java.lang.Boolean.*;
+import static java.nio.charset.StandardCharsets.*;
 import static java.util.concurrent.TimeUnit.*;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
 import java.lang.reflect.UndeclaredThrowableException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
@@ -20,18 +29,27 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.RandomAccess;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
 import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
@@ -43,17 +61,24 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.BiPredicate;
 import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.LongConsumer;
 import java.util.function.LongPredicate;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * <p>
@@ -109,6 +134,11 @@ public class Signal<V> {
      */
     private static final BinaryOperator UNDEF = (a, b) -> b;
 
+    /**
+     * The dropped value in the fused operators.
+     */
+    private static final Object DROP = new Object();
+
     /**
      * For reuse.
      */
@@ -121,6 +151,17 @@ public class Signal<V> {
      */
     private final BiFunction<Observer<V>, Disposable, Disposable> subscriber;
 
+    /**
+     * The source of the fused operators, null when this {@link Signal} is not fused.
+     */
+    private final Signal<Object> source;
+
+    /**
+     * The fused stateless operators. Each creates the value converter per subscription which
+     * returns {@link #DROP} to drop the value.
+     */
+    private final Supplier<Function>[] stages;
+
     /**
      * <p>
      * Create {@link Signal} preassign the specified subscriber {@link Collection} which will be
@@ -153,6 +194,40 @@ public class Signal<V> {
      */
     public Signal(BiFunction<Observer<V>, Disposable, Disposable> subscriber) {
         this.subscriber = subscriber;
+        this.source = null;
+        this.stages = null;
+    }
+
+    /**
+     * Create {@link Signal} which applies all fused operators to the values of the source in one
+     * {@link Observer}, so the chain of stateless operators costs neither {@link Signal} nor
+     * {@link Subscriber} per operator.
+     * 
+     * @param source A source {@link Signal}.
+     * @param stages The fused operators.
+     */
+    private Signal(Signal<Object> source, Supplier<Function>[] stages) {
+        this.source = source;
+        this.stages = stages;
+        this.subscriber = (observer, disposer) -> {
+            Function[] functions = new Function[stages.length];
+            for (int i = 0; i < functions.length; i++) {
+                functions[i] = stages[i].get();
+            }
+            Demand demand = Demand.limit(disposer);
+
+            return source.to(value -> {
+                Object v = value;
+                for (Function function : functions) {
+                    if ((v = function.apply(v)) == DROP) {
+                        // replenish the demand consumed by the dropped value
+                        if (demand != null) demand.request(1);
+                        return;
+                    }
+                }
+                observer.accept((V) v);
+            }, observer::error, observer::complete, disposer, false);
+        };
     }
 
     /**
@@ -228,6 +303,32 @@ public class Signal<V> {
         return to(subscriber, subscriber.disposer);
     }
 
+    /**
+     * Receive values from this {@link Signal} with backpressure. Only the requested number of values
+     * are emitted by the demand-aware source, call {@link Disposable#request(long)} on the returned
+     * subscription to request more values. The source which is unaware of demand keeps pushing all
+     * values, so place {@link #onBackpressureBuffer()}, {@link #onBackpressureDrop()} or
+     * {@link #onBackpressureLatest()} in front of this to deal with the overflow.
+     *
+     * @param observer A value observer of this {@link Signal}.
+     * @param request The initial number of values to request. Zero or negative number requests
+     *            nothing.
+     * @return Calling {@link Disposable#dispose()} will dispose this subscription, calling
+     *         {@link Disposable#request(long)} will request additional values.
+     */
+    public Disposable to(Observer<? super V> observer, long request) {
+        Disposable demand = Disposable.empty();
+        Demand.bound(demand, request);
+
+        Subscriber subscriber = new Subscriber();
+        subscriber.index = 1;
+        subscriber.disposer = demand;
+        subscriber.observer = observer;
+
+        to(subscriber, subscriber.disposer);
+        return demand;
+    }
+
     /**
      * Receive values from this {@link Signal}.
      *
@@ -262,6 +363,54 @@ public class Signal<V> {
         }
     }
 
+    /**
+     * Expose this {@link Signal} as {@link Flow.Publisher}. Each {@link Flow.Subscriber} receives
+     * only the requested number of values, the values which are pushed from the source beyond the
+     * request are buffered until requested.
+     *
+     * @return A {@link Flow.Publisher} which emits the values of this {@link Signal}.
+     */
+    public Flow.Publisher<V> toPublisher() {
+        return subscriber -> {
+            Disposable disposer = Disposable.empty();
+            Demand.bound(disposer, 0);
+            subscriber.onSubscribe(new Bridge<V>(disposer, subscriber::onError));
+
+            onBackpressureBuffer().to(subscriber::onNext, subscriber::onError, subscriber::onComplete, disposer, true);
+        };
+    }
+
+    /**
+     * Expose this {@link Signal} as the blocking {@link Iterator}. This {@link Signal} is subscribed
+     * immediately but only the specified number of values are requested and buffered, the next value
+     * is requested whenever the consumer pulls one. So the large {@link Signal} can be consumed with
+     * constant memory. The source which ignores the demand is
+     * blocked while the buffer is full. The error of this {@link Signal} is thrown from
+     * {@link Iterator#hasNext()}.
+     * <p>
+     * The subscription is disposed when this {@link Signal} is terminated or the returned
+     * {@link Iterator} is abandoned (it becomes unreachable).
+     *
+     * @param prefetch The number of values to buffer. Zero or negative number means 1.
+     * @return A blocking {@link Iterator} which pulls the values of this {@link Signal}.
+     */
+    public Iterator<V> toIterator(int prefetch) {
+        return new Pipe(this, Math.max(1, prefetch));
+    }
+
+    /**
+     * Expose this {@link Signal} as the sequential {@link Stream} which pulls the values lazily
+     * through the bounded buffer, see {@link #toIterator(int)}. Closing the returned {@link Stream}
+     * disposes the subscription, so use it in try-with-resources statement when you stop reading
+     * early.
+     *
+     * @return A {@link Stream} which pulls the values of this {@link Signal}.
+     */
+    public Stream<V> toStream() {
+        Pipe<V> pipe = new Pipe(this, 256);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(pipe, Spliterator.ORDERED), false).onClose(pipe::dispose);
+    }
+
     /**
      * Receive values as {@link Variable} from this {@link Signal}.
      *
@@ -489,7 +638,24 @@ public class Signal<V> {
             Deque<V> buffer = new ArrayDeque<>();
             AtomicInteger timing = new AtomicInteger();
 
-            return to(value -> {
+            // Each requested buffer consumes the fixed number of source values, so the downstream
+            // demand is translated and forwarded to the independent upstream subscription.
+            Demand demand = Demand.limit(disposer);
+            Demand down = demand == null ? null : Demand.of(disposer);
+            Disposable upstream = disposer;
+
+            if (demand != null) {
+                Disposable up = disposer.sub();
+                Demand.bound(up, creationSize - creationInterval);
+
+                down.emitter = () -> {
+                    long n = demand.take();
+                    if (n != 0) up.request(Long.MAX_VALUE / creationInterval <= n ? Long.MAX_VALUE : n * creationInterval);
+                };
+                upstream = up;
+            }
+
+            Disposable subscription = to(value -> {
                 buffer.offer(value);
 
                 boolean validTiming = timing.incrementAndGet() == creationInterval;
@@ -516,7 +682,103 @@ public class Signal<V> {
                 if (validSize) {
                     buffer.pollFirst();
                 }
-            }, observer::error, observer::complete, disposer, false);
+            }, observer::error, observer::complete, upstream, false);
+
+            if (demand == null) {
+                return subscription;
+            }
+            down.drain();
+            return disposer;
+        });
+    }
+
+    /**
+     * <p>
+     * It accumulates elements and flows them together as {@link List} buffer whenever it reaches
+     * the specified size or the specified time has passed since the first element of the buffer
+     * arrived, whichever comes first. It trades a little latency for the throughput of batch sinks
+     * (database writes, log shipping, bulk requests etc). The accumulating storage is reused for
+     * each buffer, so only the flowed {@link List} is allocated.
+     * </p>
+     * <pre class="marble-diagram" style="font: 11px/1.2 'Yu Gothic';">
+     * ───①②③──④────────⑤─╂
+     * ↓↓↓ ↓ ↓
+     * ┌──────────────────┐
+     * buffer (3, time)
+     * └──────────────────┘
+     * ↓ ↓ ↓
+     * ─────[①②③]───[④]─────[⑤]╂
+     * </pre>
+     *
+     * @param size A maximum length of each buffer. Zero or negative number are treated exactly the
+     *            same way as 1.
+     * @param time A maximum delay of the first element in each buffer. {@code null}, zero or
+     *            negative duration will ignore the time limit.
+     * @param flush A flag whether completion event flows the remaining values or not.
+     * @param scheduler An event scheduler.
+     * @return {@var ChainableAPI}
+     * @see <a href="https://reactivex.io/documentation/operators/buffer.html">ReactiveX buffer</a>
+     */
+    public Signal<List<V>> buffer(int size, Duration time, boolean flush, ScheduledExecutorService... scheduler) {
+        int max = 0 < size ? size : 1;
+        long delay = time == null || time.isNegative() ? 0 : time.toNanos();
+
+        return new Signal<>((observer, disposer) -> {
+            Object lock = new Object();
+            Object[][] storage = {new Object[Math.min(max, 1024)]};
+            int[] count = {0};
+            long[] batch = {0};
+            long[] started = {0};
+
+            Runnable transfer = () -> {
+                if (count[0] != 0) {
+                    Object[] values = Arrays.copyOf(storage[0], count[0]);
+                    Arrays.fill(storage[0], 0, count[0], null);
+                    count[0] = 0;
+                    batch[0]++;
+                    observer.accept((List<V>) Arrays.asList(values));
+                }
+            };
+
+            // The default scheduler uses the shared timing wheel which rearms the same timer for
+            // each buffer. The stale expiry is ignored by the age of the current buffer.
+            Timer timer = delay == 0 || scheduler.length != 0 ? null : new Timer(() -> {
+                synchronized (lock) {
+                    if (count[0] != 0 && delay <= System.nanoTime() - started[0]) transfer.run();
+                }
+            });
+            if (timer != null) disposer.add(timer);
+
+            return to(value -> {
+                synchronized (lock) {
+                    if (count[0] == storage[0].length) {
+                        storage[0] = Arrays.copyOf(storage[0], (int) Math.min(max, count[0] * 2L));
+                    }
+                    storage[0][count[0]++] = value;
+
+                    if (count[0] == max) {
+                        transfer.run();
+                    } else if (count[0] == 1 && delay != 0) {
+                        started[0] = System.nanoTime();
+
+                        if (timer != null) {
+                            timer.schedule(delay, NANOSECONDS);
+                        } else {
+                            long id = batch[0];
+                            I.schedule(delay, NANOSECONDS, scheduler).to(() -> {
+                                synchronized (lock) {
+                                    if (id == batch[0] && !disposer.isDisposed()) transfer.run();
+                                }
+                            });
+                        }
+                    }
+                }
+            }, observer::error, () -> {
+                synchronized (lock) {
+                    if (flush) transfer.run();
+                    observer.complete();
+                }
+            }, disposer, false);
         });
     }
 
@@ -560,15 +822,34 @@ public class Signal<V> {
     private <B> Signal<B> buffer(Signal<?> timing, Supplier<B> supplier, BiConsumer<B, V> assigner, boolean ignoreRemaining) {
         return new Signal<>((observer, disposer) -> {
             AtomicReference<B> buffer = new AtomicReference(supplier.get());
+            Demand demand = Demand.limit(disposer);
 
             WiseRunnable transfer = () -> observer.accept(buffer.getAndSet(supplier.get()));
             WiseRunnable completer = ignoreRemaining ? observer::complete : I.bundle(transfer, observer::complete);
 
-            return to(v -> assigner.accept(buffer.get(), v), observer::error, completer, disposer, false)
-                    .add(timing.to(transfer, observer::error, completer));
+            return to(v -> {
+                assigner.accept(buffer.get(), v);
+
+                // replenish the demand consumed by the accumulated value
+                if (demand != null) demand.request(1);
+            }, observer::error, completer, disposer, false).add(timing.to(transfer, observer::error, completer));
         });
     }
 
+    /**
+     * <p>
+     * Returns a new {@link Signal} that multicasts the original {@link Signal} and replays all
+     * values to the late {@link Observer}. The source is subscribed only once at the first
+     * subscription and is never disposed.
+     * </p>
+     *
+     * @return {@var ChainableAPI}
+     * @see #replay(int)
+     */
+    public Signal<V> cache() {
+        return replay(Integer.MAX_VALUE, 0);
+    }
+
     /**
      * <p>
      * It flows the pair of each elements coming from all signals. In order to flow a new pair,
@@ -654,7 +935,12 @@ public class Signal<V> {
             LinkedList<O> otherValue = new LinkedList();
             boolean[] completes = new boolean[2];
 
-            return to(value -> {
+            // Each side is consumed at its own pace to make pairs, so both are subscribed
+            // independently of the downstream demand.
+            boolean bounded = Demand.limit(disposer) != null;
+            Disposable upstream = bounded ? disposer.sub() : disposer;
+
+            Disposable subscription = to(value -> {
                 if (!completes[0]) {
                     if (otherValue.isEmpty()) {
                         baseValue.add(value);
@@ -668,7 +954,7 @@ public class Signal<V> {
                 if (baseValue.isEmpty() || completes[1]) {
                     observer.complete();
                 }
-            }, disposer, false).add(other.to(value -> {
+            }, upstream, false).add(other.to(value -> {
                 if (!completes[1]) {
                     if (baseValue.isEmpty()) {
                         otherValue.add(value);
@@ -682,7 +968,9 @@ public class Signal<V> {
                 if (otherValue.isEmpty() || completes[0]) {
                     observer.complete();
                 }
-            }, disposer, false));
+            }, upstream, false));
+
+            return bounded ? disposer : subscription;
         });
     }
 
@@ -1019,7 +1307,7 @@ public class Signal<V> {
      * @return {@var ChainableAPI}
      */
     public Signal<V> debounce(Variable<Long> time, TimeUnit unit, boolean acceptFirst, ScheduledExecutorService... scheduler) {
-        return debounceX(time, unit, acceptFirst, scheduler).flatMap(v -> I.signal(v).last());
+        return debounceX(time, unit, acceptFirst, scheduler).skip(List::isEmpty).map(v -> v.get(v.size() - 1));
     }
 
     /**
@@ -1067,6 +1355,11 @@ public class Signal<V> {
             AtomicReference<Disposable> latest = new AtomicReference();
             AtomicReference<List<V>> list = new AtomicReference(new ArrayList());
 
+            // The default scheduler uses the shared timing wheel which extends the same timer on
+            // each value, so the high-frequency input creates neither task nor thread.
+            Timer timer = scheduler.length == 0 ? new Timer(() -> observer.accept(list.getAndSet(new ArrayList<>()))) : null;
+            if (timer != null) disposer.add(timer);
+
             return to(value -> {
                 List<V> q = list.get();
                 if (acceptFirst && q.isEmpty()) {
@@ -1074,6 +1367,11 @@ public class Signal<V> {
                 }
                 q.add(value);
 
+                if (timer != null) {
+                    timer.schedule(time.v, unit);
+                    return;
+                }
+
                 Disposable d = latest.get();
 
                 if (d != null) {
@@ -1138,30 +1436,59 @@ public class Signal<V> {
         return new Signal<>((observer, disposer) -> {
             ConcurrentSkipListSet<Ⅱ<Object, Long>> queue = new ConcurrentSkipListSet<>(Comparator.comparingLong(Ⅱ::ⅱ));
 
-            Runnable sender = I.recurse(self -> {
-                Ⅱ<Object, Long> item = queue.pollFirst();
+            Runnable[] sender = new Runnable[1];
 
-                if (item != null) {
-                    if (item.ⅰ == this) {
-                        observer.complete();
-                    } else if (!disposer.isDisposed()) {
-                        observer.accept((V) item.ⅰ);
-                    }
+            // The default scheduler uses the shared timing wheel which rearms the same timer for
+            // the head of queue.
+            Timer timer = scheduler.length == 0 ? new Timer(() -> sender[0].run()) : null;
+            if (timer != null) disposer.add(timer);
+
+            LongConsumer schedule = delay -> {
+                if (timer == null) {
+                    I.schedule(delay, NANOSECONDS, scheduler).to(sender[0]);
+                } else if (delay <= 0) {
+                    sender[0].run(); // same as the scheduler, the expired value is sent immediately
+                } else {
+                    timer.schedule(delay, NANOSECONDS);
                 }
-                if (!queue.isEmpty()) {
-                    I.schedule(queue.first().ⅱ - System.nanoTime(), NANOSECONDS, scheduler).to(self);
+            };
+
+            // The timer action runs on the pooled thread, so the concurrent sends are serialized and
+            // each send emits all expired items in order.
+            AtomicInteger wip = new AtomicInteger();
+            sender[0] = () -> {
+                if (wip.getAndIncrement() != 0) {
+                    return;
                 }
-            });
+
+                int missed = 1;
+                do {
+                    Ⅱ<Object, Long> item;
+                    while ((item = queue.isEmpty() ? null : queue.first()) != null && item.ⅱ - System.nanoTime() <= 0) {
+                        queue.remove(item);
+
+                        if (item.ⅰ == this) {
+                            observer.complete();
+                        } else if (!disposer.isDisposed()) {
+                            observer.accept((V) item.ⅰ);
+                        }
+                    }
+                    if (item != null) {
+                        schedule.accept(item.ⅱ - System.nanoTime());
+                    }
+                    missed = wip.addAndGet(-missed);
+                } while (missed != 0);
+            };
 
             long[] lastDelay = new long[1];
 
             return to(value -> {
                 long delay = time.apply(value).toNanos();
                 queue.add(I.pair(value, lastDelay[0] = delay + System.nanoTime()));
-                if (queue.size() == 1) I.schedule(delay, NANOSECONDS, scheduler).to(sender);
+                if (queue.size() == 1) schedule.accept(delay);
             }, observer::error, () -> {
                 queue.add(I.pair(this, lastDelay[0] + 1));
-                if (queue.size() == 1) I.schedule(lastDelay[0] + 1 - System.nanoTime(), NANOSECONDS, scheduler).to(sender);
+                if (queue.size() == 1) schedule.accept(lastDelay[0] + 1 - System.nanoTime());
             }, disposer, false);
         });
     }
@@ -1230,6 +1557,112 @@ public class Signal<V> {
         return take(HashSet::new, (set, v) -> set.add(v == null ? null : keySelector.apply(v)), true, false, false);
     }
 
+    /**
+     * Returns an {@link Signal} consisting of the distinct values (according to
+     * {@link Object#equals(Object)}) of this stream. Only the specified number of recently seen
+     * values are remembered, the least recently seen value is forgotten and it will be emitted again
+     * when it reappears.
+     *
+     * @param maxKeys The maximum number of remembered values.
+     * @return {@var ChainableAPI}
+     * @see #distinct()
+     */
+    public Signal<V> distinct(int maxKeys) {
+        if (maxKeys <= 0) {
+            return this;
+        }
+
+        return take(() -> new LinkedHashMap(16, 0.75f, true), (map, v) -> {
+            // the access ordered map moves the seen value to the most recent position
+            if (map.put(v, TRUE) != null) {
+                return false;
+            }
+            if (maxKeys < map.size()) map.pollFirstEntry();
+            return true;
+        }, true, false, false);
+    }
+
+    /**
+     * Returns an {@link Signal} consisting of the distinct values (according to
+     * {@link Object#equals(Object)}) of this stream. Each value is remembered only during the
+     * specified time after it was emitted, it will be emitted again when it reappears after that.
+     *
+     * @param time The time to remember each value. Zero or negative time will emit all values.
+     * @param unit A unit of time.
+     * @return {@var ChainableAPI}
+     * @see #distinct()
+     */
+    public Signal<V> distinct(long time, TimeUnit unit) {
+        if (time <= 0) {
+            return this;
+        }
+        long age = Objects.requireNonNull(unit).toNanos(time);
+
+        return take(LinkedHashMap<V, Long>::new, (map, v) -> {
+            long now = System.nanoTime();
+
+            // the insertion ordered map holds the oldest value at first
+            Map.Entry<V, Long> oldest;
+            while ((oldest = map.firstEntry()) != null && age <= now - oldest.getValue()) {
+                map.pollFirstEntry();
+            }
+
+            if (map.containsKey(v)) {
+                return false;
+            }
+            map.put(v, now);
+            return true;
+        }, true, false, false);
+    }
+
+    /**
+     * Returns an {@link Signal} consisting of the approximately distinct values of this stream.
+     * The seen values are recorded in the Bloom filter of fixed size, so the memory usage is
+     * independent of the number of values. The value which has never been seen may be dropped with
+     * the specified probability, but the duplicated value is never emitted.
+     *
+     * @param expectedItems The expected number of distinct values.
+     * @param fpp The desired false positive probability, it must be in the range 0 to 1 exclusively.
+     * @return {@var ChainableAPI}
+     * @see #distinct()
+     */
+    public Signal<V> distinctApprox(long expectedItems, double fpp) {
+        if (expectedItems <= 0) {
+            throw new IllegalArgumentException("Expected items must be positive. [" + expectedItems + "]");
+        }
+        if (fpp <= 0 || 1 <= fpp) {
+            throw new IllegalArgumentException("False positive probability must be in the range 0 to 1. [" + fpp + "]");
+        }
+
+        // compute the optimal number of bits and hash functions
+        long bits = Math.max(64, (long) Math.ceil(-expectedItems * Math.log(fpp) / (Math.log(2) * Math.log(2))));
+        int hashes = Math.max(1, (int) Math.round((double) bits / expectedItems * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, (bits + 63) >>> 6);
+        long size = words * 64L;
+
+        return take(() -> new long[words], (filter, v) -> {
+            // derive all hashes from the mixed 64 bits hash by double hashing
+            long hash = Objects.hashCode(v) * 0x9E3779B97F4A7C15L;
+            hash ^= hash >>> 32;
+            hash *= 0xC2B2AE3D27D4EB4FL;
+            hash ^= hash >>> 29;
+            int high = (int) (hash >>> 32), low = (int) hash;
+
+            boolean seen = true;
+            for (int i = 0; i < hashes; i++) {
+                long index = Long.remainderUnsigned(high + (long) i * low, size);
+                long mask = 1L << index;
+                int word = (int) (index >>> 6);
+
+                if ((filter[word] & mask) == 0) {
+                    filter[word] |= mask;
+                    seen = false;
+                }
+            }
+            return !seen;
+        }, true, false, false);
+    }
+
     /**
      * Modifies the source {@link Signal} so that it invokes an effect when it calls
      * {@link Observer#accept(Object)}.
@@ -1667,10 +2100,15 @@ public class Signal<V> {
             Subscriber end = countable(observer, 1);
             end.next = observer;
 
-            return to(value -> {
+            // The inner signals share the downstream demand, the outer signal is not limited by it.
+            boolean bounded = Demand.limit(disposer) != null;
+
+            Disposable subscription = to(value -> {
                 end.index++;
-                function.apply(c, value).to(end, end::error, null, disposer.sub().add(end::complete), true);
-            }, observer::error, end::complete, disposer, false);
+                function.apply(c, value).to(end, end::error, null, inherit(disposer).add(end::complete), true);
+            }, observer::error, end::complete, bounded ? disposer.sub() : disposer, false);
+
+            return bounded ? disposer : subscription;
         });
     }
 
@@ -1692,6 +2130,117 @@ public class Signal<V> {
         return share.flatMap(v -> function.apply(v).observing().takeUntil(share.isCompleted()));
     }
 
+    /**
+     * <p>
+     * Splits the values into the keyed sub {@link Signal}s. The pair of the key and its sub
+     * {@link Signal} is emitted when the key appears first, and each value is routed to the sub
+     * {@link Signal} of its key. Subscribe the sub {@link Signal} in the {@link Observer} of the pair
+     * to receive the first value.
+     * </p>
+     * 
+     * @param keySelector A key extractor.
+     * @return {@var ChainableAPI}
+     */
+    public <K> Signal<Ⅱ<K, Signal<V>>> groupBy(WiseFunction<V, K> keySelector) {
+        return groupBy(keySelector, null);
+    }
+
+    /**
+     * <p>
+     * Splits the values into the keyed sub {@link Signal}s. The pair of the key and its sub
+     * {@link Signal} is emitted when the key appears first, and each value is routed to the sub
+     * {@link Signal} of its key. Subscribe the sub {@link Signal} in the {@link Observer} of the pair
+     * to receive the first value.
+     * </p>
+     * <p>
+     * The sub {@link Signal} which receives no value during the idle time is completed and
+     * forgotten, so memory stays bounded with the high-cardinality keys. The next value of the same
+     * key emits the new pair. The idle timer of each group is on the shared timing wheel and is
+     * extended without allocation.
+     * </p>
+     * 
+     * @param keySelector A key extractor.
+     * @param idle A idle time to close the group. {@code null}, zero or negative duration will keep
+     *            all groups until the source is terminated.
+     * @return {@var ChainableAPI}
+     */
+    public <K> Signal<Ⅱ<K, Signal<V>>> groupBy(WiseFunction<V, K> keySelector, Duration idle) {
+        Objects.requireNonNull(keySelector);
+        long time = idle == null || idle.isNegative() ? 0 : idle.toNanos();
+
+        return new Signal<>((observer, disposer) -> {
+            // Each group is the triple of the sub signal, the number of routing values (negative
+            // means closed) and the idle timer.
+            Map<Object, Ⅲ<Signaling<V>, AtomicLong, Timer>> groups = new ConcurrentHashMap();
+
+            // The closed group has been removed from the map, so only the live timers are cancelled.
+            Consumer<Ⅲ<Signaling<V>, AtomicLong, Timer>> cancel = group -> {
+                if (group.ⅲ != null) group.ⅲ.cancel();
+            };
+            if (time != 0) disposer.add(() -> groups.values().forEach(cancel));
+
+            return to(value -> {
+                K key = keySelector.apply(value);
+                Object id = key == null ? UNDEF : key;
+
+                while (true) {
+                    Ⅲ<Signaling<V>, AtomicLong, Timer> group = groups.get(id);
+
+                    if (group == null) {
+                        Signaling<V> signaling = new Signaling();
+                        AtomicLong routing = new AtomicLong();
+                        Ⅲ<Signaling<V>, AtomicLong, Timer>[] self = new Ⅲ[1];
+                        Timer timer = time == 0 ? null : new Timer(() -> {
+                            // close the idle group unless a value is being routed
+                            if (routing.compareAndSet(0, -1)) {
+                                groups.remove(id, self[0]);
+                                signaling.complete();
+                            } else {
+                                self[0].ⅲ.schedule(time, NANOSECONDS);
+                            }
+                        });
+                        group = self[0] = I.pair(signaling, routing, timer);
+
+                        if (groups.putIfAbsent(id, group) != null) {
+                            continue;
+                        }
+                        observer.accept(I.pair(key, signaling.expose));
+                    }
+
+                    AtomicLong routing = group.ⅱ;
+                    long count = routing.get();
+                    if (count < 0) {
+                        // the group has been closed, forget it and create the new one
+                        groups.remove(id, group);
+                        continue;
+                    }
+
+                    if (routing.compareAndSet(count, count + 1)) {
+                        try {
+                            group.ⅰ.accept(value);
+                        } finally {
+                            routing.decrementAndGet();
+                        }
+                        if (group.ⅲ != null) group.ⅲ.schedule(time, NANOSECONDS);
+                        return;
+                    }
+                }
+            }, e -> {
+                groups.values().forEach(group -> {
+                    cancel.accept(group);
+                    group.ⅰ.error(e);
+                });
+                observer.error(e);
+            }, () -> {
+                groups.values().forEach(group -> {
+                    cancel.accept(group);
+                    group.ⅰ.complete();
+                });
+                observer.complete();
+            }, disposer, false);
+        });
+    }
+
     /**
      * Append index (starting from the specified value).
      * 
@@ -1923,7 +2472,9 @@ public class Signal<V> {
      * @return {@var ChainableAPI}
      */
     public <R> Signal<R> map(WiseFunction<? super V, R> function) {
-        return map(Variable.of(Objects.requireNonNull(function)), WiseFunction::apply);
+        Objects.requireNonNull(function);
+
+        return fuse(() -> (Function) function);
     }
 
     /**
@@ -1948,41 +2499,236 @@ public class Signal<V> {
     public <C, R> Signal<R> map(Supplier<C> context, WiseBiFunction<C, ? super V, R> function) {
         Objects.requireNonNull(function);
 
-        return new Signal<>((observer, disposer) -> {
+        return fuse(() -> {
             C c = context == null ? null : context.get();
 
-            return to(value -> observer.accept(function.apply(c, value)), observer::error, observer::complete, disposer, false);
+            return value -> function.apply(c, (V) value);
         });
     }
 
     /**
-     * 
-     * 
-     * @param function
-     * @return
+     * <p>
+     * Apply the function to each value asynchronously on the executor, at most the specified number
+     * of tasks are running at the same time. The task starts as soon as the value arrives and the
+     * concurrency allows, so this operator works well on the infinite source. The demand-aware
+     * source is requested only as many values as the free slots. When the order is preserved, the
+     * slot is released only when its result is emitted, so no new task starts while the head task
+     * is running and the results waiting for it never exceed the concurrency.
+     * </p>
+     *
+     * @param function A converter function which is invoked on the executor.
+     * @param maxConcurrency The maximum number of running tasks. Zero or negative number are treated
+     *            exactly the same way as 1.
+     * @param ordered Emit the results in the order of their source values, otherwise in the order
+     *            of completion.
+     * @param executor The executor to run the tasks, {@link I#Jobs} is used by default.
+     * @return {@var ChainableAPI}
      */
-    public Signal<V> mapError(WiseFunction<Throwable, Throwable> function) {
+    public <R> Signal<R> mapAsync(WiseFunction<V, R> function, int maxConcurrency, boolean ordered, Executor... executor) {
         Objects.requireNonNull(function);
+        int limit = Math.max(1, maxConcurrency);
 
         return new Signal<>((observer, disposer) -> {
-            return to(observer::accept, e -> observer.error(function.apply(e)), observer::complete, disposer, false);
+            Executor exe = I.vouch(I.Jobs, executor);
+            Disposable up = disposer.sub();
+            Demand.bound(up, limit);
+
+            Object lock = new Object();
+            Deque<Ⅱ<Long, V>> waiting = new ArrayDeque();
+            Map<Long, R> results = new HashMap();
+            long[] sequence = {0};
+            long[] next = {0};
+            int[] running = {0};
+            boolean[] completed = {false};
+            AtomicBoolean terminated = new AtomicBoolean();
+
+            // only the first terminal event is notified
+            WiseConsumer<Throwable> error = e -> {
+                if (terminated.compareAndSet(false, true)) {
+                    up.dispose();
+                    synchronized (lock) {
+                        observer.error(e);
+                    }
+                }
+            };
+
+            Consumer<Ⅱ<Long, V>>[] start = new Consumer[1];
+            start[0] = task -> exe.execute(() -> {
+                R result;
+                try {
+                    result = function.apply(task.ⅱ);
+                } catch (Throwable e) {
+                    error.accept(e);
+                    return;
+                }
+
+                int released = 0;
+                List<Ⅱ<Long, V>> following = new ArrayList();
+                synchronized (lock) {
+                    if (terminated.get()) {
+                        return;
+                    }
+
+                    if (!ordered) {
+                        observer.accept(result);
+                        released++;
+                    } else {
+                        results.put(task.ⅰ, result);
+                        while (results.containsKey(next[0])) {
+                            observer.accept(results.remove(next[0]++));
+                            released++;
+                        }
+                    }
+                    running[0] -= released;
+
+                    // pass the released slots to the waiting values
+                    while (running[0] < limit && !waiting.isEmpty()) {
+                        following.add(waiting.pollFirst());
+                        running[0]++;
+                    }
+
+                    if (running[0] == 0 && completed[0] && terminated.compareAndSet(false, true)) {
+                        observer.complete();
+                    }
+                }
+
+                following.forEach(start[0]);
+                if (released != 0) up.request(released);
+            });
+
+            to(value -> {
+                Ⅱ<Long, V> task;
+                synchronized (lock) {
+                    task = I.pair(sequence[0]++, value);
+
+                    if (running[0] == limit) {
+                        waiting.offerLast(task);
+                        return;
+                    }
+                    running[0]++;
+                }
+                start[0].accept(task);
+            }, error, () -> {
+                synchronized (lock) {
+                    completed[0] = true;
+                    if (running[0] == 0 && terminated.compareAndSet(false, true)) observer.complete();
+                }
+            }, up, false);
+
+            return disposer;
         });
     }
 
     /**
-     * Returns an {@link Signal} that applies the given constant to each item emitted by an
-     * {@link Signal} and emits the result.
+     * <p>
+     * Convert each value to primitive {@code int} value, the following operators process them
+     * without boxing.
+     * </p>
      *
-     * @param constant A constant to apply to each value emitted by this {@link Signal}.
+     * @param function A converter function.
      * @return {@var ChainableAPI}
      */
-    public <R> Signal<R> mapTo(R constant) {
-        return map(I.wiseF(constant));
+    public IntSignal mapToInt(ToIntFunction<? super V> function) {
+        Objects.requireNonNull(function);
+
+        return new IntSignal((next, end, disposer) -> to(value -> next.accept(function.applyAsInt(value)), end::error, end::complete, disposer, false));
     }
 
     /**
      * <p>
-     * Flattens a sequence of {@link Signal} emitted by an {@link Signal} into one {@link Signal},
+     * Convert each value to primitive {@code long} value, the following operators process them
+     * without boxing.
+     * </p>
+     *
+     * @param function A converter function.
+     * @return {@var ChainableAPI}
+     */
+    public LongSignal mapToLong(ToLongFunction<? super V> function) {
+        Objects.requireNonNull(function);
+
+        return new LongSignal((next, end, disposer) -> to(value -> next.accept(function.applyAsLong(value)), end::error, end::complete, disposer, false));
+    }
+
+    /**
+     * <p>
+     * Convert each value to primitive {@code double} value, the following operators process them
+     * without boxing.
+     * </p>
+     *
+     * @param function A converter function.
+     * @return {@var ChainableAPI}
+     */
+    public DoubleSignal mapToDouble(ToDoubleFunction<? super V> function) {
+        Objects.requireNonNull(function);
+
+        return new DoubleSignal((next, end, disposer) -> to(value -> next.accept(function.applyAsDouble(value)), end::error, end::complete, disposer, false));
+    }
+
+    /**
+     * 
+     * 
+     * @param function
+     * @return
+     */
+    public Signal<V> mapError(WiseFunction<Throwable, Throwable> function) {
+        Objects.requireNonNull(function);
+
+        return new Signal<>((observer, disposer) -> {
+            return to(observer::accept, e -> observer.error(function.apply(e)), observer::complete, disposer, false);
+        });
+    }
+
+    /**
+     * Returns an {@link Signal} that applies the given constant to each item emitted by an
+     * {@link Signal} and emits the result.
+     *
+     * @param constant A constant to apply to each value emitted by this {@link Signal}.
+     * @return {@var ChainableAPI}
+     */
+    public <R> Signal<R> mapTo(R constant) {
+        return map(I.wiseF(constant));
+    }
+
+    /**
+     * <p>
+     * Insert the named measuring point which counts the values, errors, completions and active
+     * subscriptions passing through it and the time spent in the downstream. The counters are shared
+     * by all subscriptions and all measuring points with the same name, see {@link Metric}.
+     * </p>
+     * 
+     * @param name A name of measuring point.
+     * @return {@var ChainableAPI}
+     * @see Metric#of(String)
+     * @see Metric#observe(long, TimeUnit, ScheduledExecutorService...)
+     */
+    public Signal<V> measure(String name) {
+        Objects.requireNonNull(name);
+
+        return new Signal<>((observer, disposer) -> {
+            LongAdder[] meter = Metric.subscribe(name);
+            disposer.add(meter[Metric.SUBSCRIPTION]::decrement);
+
+            return to(value -> {
+                long start = System.nanoTime();
+                try {
+                    observer.accept(value);
+                } finally {
+                    meter[Metric.TIME].add(System.nanoTime() - start);
+                    meter[Metric.VALUE].increment();
+                }
+            }, e -> {
+                meter[Metric.ERROR].increment();
+                observer.error(e);
+            }, () -> {
+                meter[Metric.COMPLETE].increment();
+                observer.complete();
+            }, disposer, false);
+        });
+    }
+
+    /**
+     * <p>
+     * Flattens a sequence of {@link Signal} emitted by an {@link Signal} into one {@link Signal},
      * preassignout any transformation.
      * </p>
      * <pre class="marble-diagram" style="font: 11px/1.2 'Yu Gothic';">
@@ -2027,12 +2773,103 @@ public class Signal<V> {
                 if (disposer.isDisposed()) {
                     break;
                 }
-                signal.to(observer, observer::error, completer::complete, disposer.sub(), true);
+                signal.to(observer, observer::error, completer::complete, inherit(disposer), true);
             }
             return disposer;
         });
     }
 
+    /**
+     * <p>
+     * Flattens the {@link Signal}s into one {@link Signal} like {@link #merge(Signal...)}, and
+     * serializes their events by {@link #serialize()}. The downstream operators which have mutable
+     * state can receive the values from the sources on different threads safely.
+     * </p>
+     *
+     * @param others A target {@link Signal} to merge. {@code null} will be ignored.
+     * @return {@var ChainableAPI}
+     */
+    public Signal<V> mergeSerialized(Signal<? extends V>... others) {
+        return mergeSerialized(Arrays.asList(others));
+    }
+
+    /**
+     * <p>
+     * Flattens the {@link Signal}s into one {@link Signal} like {@link #merge(Iterable)}, and
+     * serializes their events by {@link #serialize()}. The downstream operators which have mutable
+     * state can receive the values from the sources on different threads safely.
+     * </p>
+     *
+     * @param others A target {@link Signal} set to merge. {@code null} will be ignored.
+     * @return {@var ChainableAPI}
+     */
+    public Signal<V> mergeSerialized(Iterable<Signal<? extends V>> others) {
+        return merge(others).serialize();
+    }
+
+    /**
+     * <p>
+     * Serializes the events which are emitted from the multiple threads concurrently, so the
+     * downstream receives them one by one. The thread which finds no other emission in progress
+     * emits its value directly, the other threads just enqueue their values to the lock-free queue
+     * and return immediately, then the emitting thread drains them in order. No thread is blocked
+     * by the mutex.
+     * </p>
+     *
+     * @return {@var ChainableAPI}
+     */
+    public Signal<V> serialize() {
+        return new Signal<>((observer, disposer) -> {
+            // null value is stored as UNDEF, the terminal event is error or UNDEF as completion
+            Queue queue = new ConcurrentLinkedQueue();
+            AtomicReference terminal = new AtomicReference();
+            AtomicInteger wip = new AtomicInteger();
+            boolean[] terminated = new boolean[1]; // accessed by the emitting thread only
+
+            Runnable drain = () -> {
+                int missed = 1;
+                do {
+                    for (Object value; !terminated[0] && (value = queue.poll()) != null;) {
+                        observer.accept(value == UNDEF ? null : (V) value);
+                    }
+
+                    Object end = terminal.get();
+                    if (end != null && !terminated[0] && queue.isEmpty()) {
+                        terminated[0] = true;
+                        if (end instanceof Throwable e) {
+                            observer.error(e);
+                        } else {
+                            observer.complete();
+                        }
+                    }
+                    missed = wip.addAndGet(-missed);
+                } while (missed != 0);
+            };
+
+            return to(value -> {
+                if (wip.compareAndSet(0, 1)) {
+                    // no contention, emit directly without queueing
+                    if (!terminated[0]) observer.accept(value);
+                    if (wip.decrementAndGet() == 0) {
+                        return;
+                    }
+                } else {
+                    queue.offer(value == null ? UNDEF : value);
+                    if (wip.getAndIncrement() != 0) {
+                        return;
+                    }
+                }
+                drain.run();
+            }, e -> {
+                terminal.compareAndSet(null, e);
+                if (wip.getAndIncrement() == 0) drain.run();
+            }, () -> {
+                terminal.compareAndSet(null, UNDEF);
+                if (wip.getAndIncrement() == 0) drain.run();
+            }, disposer, false);
+        });
+    }
+
     /**
      * <link rel="stylesheet" href="main.css" type="text/css">
      * <p>
@@ -2047,33 +2884,270 @@ public class Signal<V> {
      * ↓ ↓ ↓ ↓ ↓ ↓
      * ━━━❶━━━❷━━━❸━━━❹━━━❺━━╋
      * </pre>
+     * <p>
+     * The demand-aware source is requested 256 values in advance, see
+     * {@link #on(Consumer, int)}.
+     * </p>
      * 
      * @param scheduler A new context
      * @return {@var ChainableAPI}
      */
     public Signal<V> on(Consumer<Runnable> scheduler) {
+        return on(scheduler, 256);
+    }
+
+    /**
+     * <p>
+     * Switch event stream context. All events are queued and one task on the scheduler drains them
+     * in batch and in order, so the completion is always notified after all values. The
+     * demand-aware source is requested the specified number of values in advance and is refilled
+     * when 75% of them are consumed, so the queue is bounded by the prefetch. The source which
+     * ignores demand is never blocked or dropped, the queue grows beyond the prefetch for it.
+     * </p>
+     * 
+     * @param scheduler A new context
+     * @param prefetch The number of values to request in advance. Zero or negative number are
+     *            treated exactly the same way as 1. {@link Integer#MAX_VALUE} requests all values
+     *            without limit.
+     * @return {@var ChainableAPI}
+     */
+    public Signal<V> on(Consumer<Runnable> scheduler, int prefetch) {
         // ignore invalid parameters
         if (scheduler == null) {
             return this;
         }
 
+        int limit = Math.max(1, prefetch);
+        int refill = Math.max(1, limit - (limit >> 2));
+
         return new Signal<>((observer, disposer) -> {
-            int[] countable = {1};
-            return to(v -> {
-                countable[0]++;
-                scheduler.accept(() -> {
-                    observer.accept(v);
-                    if (--countable[0] == 0) {
-                        observer.complete();
+            boolean bounded = limit != Integer.MAX_VALUE;
+
+            // ring buffer which is preallocated for the prefetch, null value is stored as UNDEF
+            Deque queue = new ArrayDeque(Math.min(limit, 1024));
+            AtomicInteger wip = new AtomicInteger();
+            AtomicReference terminal = new AtomicReference();
+            int[] consumed = {0};
+
+            Demand demand = Demand.limit(disposer);
+            Disposable up = disposer.sub();
+            if (bounded) Demand.bound(up, limit);
+
+            Runnable drain = () -> {
+                int missed = 1;
+                do {
+                    while (!disposer.isDisposed()) {
+                        Object value;
+                        synchronized (queue) {
+                            if (queue.isEmpty() || (demand != null && !demand.acquire())) {
+                                break;
+                            }
+                            value = queue.pollFirst();
+                        }
+                        observer.accept(value == UNDEF ? null : (V) value);
+
+                        if (bounded && ++consumed[0] == refill) {
+                            consumed[0] = 0;
+                            up.request(refill);
+                        }
                     }
-                });
+
+                    Object end = terminal.get();
+                    boolean empty;
+                    synchronized (queue) {
+                        empty = queue.isEmpty();
+                    }
+
+                    if (end != null && empty && terminal.compareAndSet(end, disposer)) {
+                        if (end instanceof Throwable e) {
+                            observer.error(e);
+                        } else if (end != disposer) {
+                            observer.complete();
+                        }
+                    }
+                    missed = wip.addAndGet(-missed);
+                } while (missed != 0);
+            };
+            Runnable schedule = () -> {
+                if (wip.getAndIncrement() == 0) scheduler.accept(drain);
+            };
+
+            // downstream demand resumes the drain on the scheduler
+            if (demand != null) Demand.of(disposer).emitter = schedule;
+
+            to(value -> {
+                synchronized (queue) {
+                    queue.offerLast(value == null ? UNDEF : value);
+                }
+                schedule.run();
             }, e -> {
-                scheduler.accept(((WiseConsumer<Throwable>) observer::error).bind(e));
+                terminal.compareAndSet(null, e);
+                schedule.run();
             }, () -> {
-                if (--countable[0] == 0) {
-                    scheduler.accept(observer::complete);
+                terminal.compareAndSet(null, UNDEF);
+                schedule.run();
+            }, up, false);
+
+            return disposer;
+        });
+    }
+
+    /**
+     * <p>
+     * Buffer all values which are not requested by the downstream yet, and emit them as demand
+     * arrives. The demand-aware source is requested only as much as the downstream requests, so
+     * only the values pushed regardless of the demand are buffered. This operator has no effect on
+     * the unbounded subscription.
+     * </p>
+     * 
+     * @return {@var ChainableAPI}
+     * @see #to(Observer, long)
+     */
+    public Signal<V> onBackpressureBuffer() {
+        return onBackpressure(Integer.MAX_VALUE, false);
+    }
+
+    /**
+     * <p>
+     * Buffer the values which are not requested by the downstream yet, and emit them as demand
+     * arrives. The demand-aware source is requested only as much as the downstream requests. When
+     * the buffer overflows, the upstream is disposed and {@link IllegalStateException} is signaled.
+     * This operator has no effect on the unbounded subscription.
+     * </p>
+     * 
+     * @param capacity The maximum number of buffered values. Zero or negative number are treated
+     *            exactly the same way as 1.
+     * @return {@var ChainableAPI}
+     * @see #to(Observer, long)
+     */
+    public Signal<V> onBackpressureBuffer(int capacity) {
+        return onBackpressure(Math.max(1, capacity), false);
+    }
+
+    /**
+     * <p>
+     * Drop the values which are not requested by the downstream. This operator has no effect on the
+     * unbounded subscription.
+     * </p>
+     * 
+     * @return {@var ChainableAPI}
+     * @see #to(Observer, long)
+     */
+    public Signal<V> onBackpressureDrop() {
+        return new Signal<>((observer, disposer) -> {
+            Demand demand = Demand.limit(disposer);
+
+            // no backpressure is required
+            if (demand == null) {
+                return to(observer, disposer);
+            }
+
+            to(value -> {
+                if (demand.acquire()) {
+                    observer.accept(value);
                 }
-            }, disposer, false);
+            }, observer::error, observer::complete, disposer.sub(), false);
+            return disposer;
+        });
+    }
+
+    /**
+     * <p>
+     * Keep only the latest value which is not requested by the downstream yet, and emit it as
+     * demand arrives. This operator has no effect on the unbounded subscription.
+     * </p>
+     * 
+     * @return {@var ChainableAPI}
+     * @see #to(Observer, long)
+     */
+    public Signal<V> onBackpressureLatest() {
+        return onBackpressure(1, true);
+    }
+
+    /**
+     * Backpressure operator helper.
+     * 
+     * @param capacity The maximum number of buffered values.
+     * @param latest Replace the oldest value on overflow instead of signaling error.
+     * @return {@var ChainableAPI}
+     */
+    private Signal<V> onBackpressure(int capacity, boolean latest) {
+        return new Signal<>((observer, disposer) -> {
+            Demand demand = Demand.limit(disposer);
+
+            // no backpressure is required
+            if (demand == null) {
+                return to(observer, disposer);
+            }
+
+            // null value is stored as UNDEF, the terminal event is error or UNDEF as completion
+            Deque queue = new ArrayDeque();
+            AtomicReference terminal = new AtomicReference();
+            Demand emitter = Demand.of(disposer);
+            Disposable upstream = disposer.sub();
+            Demand up = Demand.of(upstream);
+            up.bounded = !latest;
+
+            emitter.emitter = () -> {
+                while (true) {
+                    Object value;
+                    synchronized (queue) {
+                        if (queue.isEmpty() || terminal.get() instanceof Throwable || !demand.acquire()) {
+                            break;
+                        }
+                        value = queue.pollFirst();
+                    }
+                    observer.accept(value == UNDEF ? null : (V) value);
+                }
+
+                Object end = terminal.get();
+
+                // forward the demand which is not satisfied by the buffered values yet
+                if (end == null && up.bounded) {
+                    long missing = demand.requested - up.requested;
+                    if (0 < missing) up.request(missing);
+                }
+
+                if (end != null && (end instanceof Throwable || queue.isEmpty())) {
+                    emitter.emitter = null;
+                    if (end instanceof Throwable e) {
+                        observer.error(e);
+                    } else {
+                        observer.complete();
+                    }
+                }
+            };
+
+            to(value -> {
+                synchronized (queue) {
+                    if (terminal.get() != null) {
+                        return;
+                    }
+
+                    if (capacity <= queue.size()) {
+                        if (latest) {
+                            queue.pollFirst();
+                        } else {
+                            terminal.set(new IllegalStateException("Buffer overflows the capacity [" + capacity + "]."));
+                            upstream.dispose();
+                        }
+                    }
+
+                    if (terminal.get() == null) {
+                        queue.offerLast(value == null ? UNDEF : value);
+                    }
+                }
+                emitter.drain();
+            }, e -> {
+                terminal.compareAndSet(null, e);
+                emitter.drain();
+            }, () -> {
+                terminal.compareAndSet(null, UNDEF);
+                emitter.drain();
+            }, upstream, false);
+            emitter.drain();
+
+            return disposer;
         });
     }
 
@@ -2116,6 +3190,189 @@ public class Signal<V> {
         });
     }
 
+    /**
+     * <p>
+     * Split the values into the specified number of rails in round-robin fashion, process each rail
+     * concurrently on the executor and merge the results back into one {@link Signal}. Each rail
+     * receives its values sequentially on one thread at a time, so the operators in the rail (i.e.
+     * {@link #map(WiseFunction)}, {@link #take(long)} or {@link #flatMap(WiseFunction)}) see a
+     * serial stream and keep their own state per rail.
+     * </p>
+     * <p>
+     * When the order is preserved, the results are emitted in the order of their source values.
+     * The results which the rail emits synchronously while processing the value are ordered, the
+     * others (i.e. emitted by asynchronous operator) are emitted as soon as possible.
+     * </p>
+     * <p>
+     * The demand-aware source is requested at most 128 values per rail ahead of the values which
+     * are processed (or emitted in order), so one lagging rail never makes the other rails buffer
+     * the whole source.
+     * </p>
+     *
+     * @param rails The number of rails. Zero or negative number are treated exactly the same way
+     *            as 1.
+     * @param ordered Preserve the order of the source values.
+     * @param rail The operators to apply on each rail.
+     * @param executor The executor to process rails, {@link I#Jobs} is used by default.
+     * @return {@var ChainableAPI}
+     */
+    public <R> Signal<R> parallel(int rails, boolean ordered, WiseFunction<Signal<V>, Signal<R>> rail, Executor... executor) {
+        return parallel(rails, null, ordered, rail, executor);
+    }
+
+    /**
+     * <p>
+     * Split the values into the specified number of rails by the hash of key, process each rail
+     * concurrently on the executor and merge the results back into one {@link Signal}. The values
+     * which have the same key are always processed on the same rail in the order of their
+     * emission.
+     * </p>
+     *
+     * @param rails The number of rails. Zero or negative number are treated exactly the same way
+     *            as 1.
+     * @param key The key selector.
+     * @param rail The operators to apply on each rail.
+     * @param executor The executor to process rails, {@link I#Jobs} is used by default.
+     * @return {@var ChainableAPI}
+     * @see #parallel(int, boolean, WiseFunction, Executor...)
+     */
+    public <R> Signal<R> parallel(int rails, WiseFunction<V, ?> key, WiseFunction<Signal<V>, Signal<R>> rail, Executor... executor) {
+        return parallel(rails, Objects.requireNonNull(key), false, rail, executor);
+    }
+
+    /**
+     * Parallel operator helper.
+     * 
+     * @param rails The number of rails.
+     * @param key The key selector or null for round-robin.
+     * @param ordered Preserve the order of the source values.
+     * @param rail The operators to apply on each rail.
+     * @param executor The executor to process rails.
+     * @return {@var ChainableAPI}
+     */
+    private <R> Signal<R> parallel(int rails, WiseFunction<V, ?> key, boolean ordered, WiseFunction<Signal<V>, Signal<R>> rail, Executor... executor) {
+        Objects.requireNonNull(rail);
+        int size = Math.max(1, rails);
+
+        return new Signal<>((observer, disposer) -> {
+            Executor exe = I.vouch(I.Jobs, executor);
+            Ⅱ<Long, V> end = I.pair(-1L, null);
+            Object lock = new Object();
+            AtomicInteger running = new AtomicInteger(size);
+            AtomicBoolean terminated = new AtomicBoolean();
+            Queue<Ⅱ<Long, V>>[] queues = new Queue[size];
+            AtomicInteger[] wips = new AtomicInteger[size];
+            Runnable[] drains = new Runnable[size];
+
+            // The outputs of each source value are kept by its sequence number until all outputs
+            // of the preceding values are emitted.
+            Map<Long, List<R>> pending = new HashMap();
+            long[] next = {0};
+            long[] sequence = {0};
+
+            // stop the source and all rails on error, only the first terminal event is notified
+            Disposable sub = disposer.sub();
+            WiseConsumer<Throwable> error = e -> {
+                if (terminated.compareAndSet(false, true)) {
+                    sub.dispose();
+                    synchronized (lock) {
+                        observer.error(e);
+                    }
+                }
+            };
+
+            // the source is requested as the values are released from the rails
+            Disposable up = sub.sub();
+            Demand.bound(up, size * 128L);
+
+            for (int i = 0; i < size; i++) {
+                Queue<Ⅱ<Long, V>> queue = queues[i] = new ConcurrentLinkedQueue();
+                AtomicInteger wip = wips[i] = new AtomicInteger();
+                Signaling<V> input = new Signaling();
+                List<R> outputs = new ArrayList();
+                long[] current = {-1};
+                WiseRunnable complete = () -> {
+                    if (running.decrementAndGet() == 0 && terminated.compareAndSet(false, true)) {
+                        synchronized (lock) {
+                            observer.complete();
+                        }
+                    }
+                };
+                boolean[] completed = {false};
+
+                rail.apply(input.expose).to(value -> {
+                    if (current[0] != -1) {
+                        outputs.add(value);
+                    } else {
+                        synchronized (lock) {
+                            if (!terminated.get()) observer.accept(value);
+                        }
+                    }
+                }, error, () -> {
+                    // the rail completed while processing the value must wait for its outputs
+                    if (current[0] != -1) {
+                        completed[0] = true;
+                    } else {
+                        complete.run();
+                    }
+                }, sub.sub(), false);
+
+                drains[i] = () -> {
+                    int missed = 1;
+                    do {
+                        Ⅱ<Long, V> item;
+                        while (!sub.isDisposed() && (item = queue.poll()) != null) {
+                            if (item == end) {
+                                input.complete();
+                            } else if (!ordered) {
+                                input.accept(item.ⅱ);
+                                up.request(1);
+                            } else {
+                                current[0] = item.ⅰ;
+                                input.accept(item.ⅱ);
+                                current[0] = -1;
+
+                                long released = 0;
+                                synchronized (lock) {
+                                    pending.put(item.ⅰ, outputs.isEmpty() ? List.of() : new ArrayList(outputs));
+                                    outputs.clear();
+
+                                    List<R> emittable;
+                                    while ((emittable = pending.remove(next[0])) != null) {
+                                        next[0]++;
+                                        released++;
+                                        if (!terminated.get()) emittable.forEach(observer);
+                                    }
+                                }
+                                if (released != 0) up.request(released);
+
+                                if (completed[0]) {
+                                    completed[0] = false;
+                                    complete.run();
+                                }
+                            }
+                        }
+                        missed = wip.addAndGet(-missed);
+                    } while (missed != 0);
+                };
+            }
+
+            to(value -> {
+                long seq = sequence[0]++;
+                int index = key == null ? (int) (seq % size) : Math.floorMod(Objects.hashCode(key.apply(value)), size);
+
+                queues[index].offer(I.pair(seq, value));
+                if (wips[index].getAndIncrement() == 0) exe.execute(drains[index]);
+            }, error, () -> {
+                for (int i = 0; i < size; i++) {
+                    queues[i].offer(end);
+                    if (wips[i].getAndIncrement() == 0) exe.execute(drains[i]);
+                }
+            }, up, false);
+            return disposer;
+        });
+    }
+
     /**
      * Helps to insert {@link Signal} chain from outside.
      * 
@@ -2312,10 +3569,175 @@ public class Signal<V> {
                 if (sub.o != null) observer.complete();
             });
 
-            // connect preassign complete handling flow
-            sub.disposer = to(observer, observer::error, complete, disposer.sub(), true);
+            // connect preassign complete handling flow
+            sub.disposer = to(observer, observer::error, complete, disposer.sub(), true);
+
+            // API definition
+            return disposer;
+        });
+    }
+
+    /**
+     * <p>
+     * Returns a new {@link Signal} that multicasts the original {@link Signal} and replays the
+     * latest values to the late {@link Observer}. The source is subscribed only once at the first
+     * subscription and is never disposed, so the expensive source (network access, file scan etc)
+     * runs only once. The terminal event is also replayed.
+     * </p>
+     *
+     * @param size The maximum number of values to replay. Zero or negative number will replay
+     *            nothing, it is the same as {@link #share()} but never disconnects from the source.
+     * @return {@var ChainableAPI}
+     */
+    public Signal<V> replay(int size) {
+        return replay(Math.max(0, size), 0);
+    }
+
+    /**
+     * <p>
+     * Returns a new {@link Signal} that multicasts the original {@link Signal} and replays the
+     * values emitted within the specified duration to the late {@link Observer}. The source is
+     * subscribed only once at the first subscription and is never disposed. The terminal event is
+     * also replayed.
+     * </p>
+     *
+     * @param age The maximum age of values to replay.
+     * @return {@var ChainableAPI}
+     */
+    public Signal<V> replay(Duration age) {
+        return replay(Integer.MAX_VALUE, Math.max(1, age.toNanos()));
+    }
+
+    /**
+     * Multicasts the values through the ring buffer. The buffer is preallocated up to 1024 slots and
+     * grows only when the larger size is requested. Each {@link Observer} has its own queue, the
+     * buffering and the enqueuing of the replayed and the live values are serialized by the lock, so
+     * no value is lost or duplicated between the replay and the live values. The values are emitted
+     * from the queue outside the lock, so the slow or failing {@link Observer} never blocks or
+     * terminates the others.
+     * 
+     * @param size The maximum number of values to replay.
+     * @param age The maximum age (nano seconds) of values to replay, 0 means no expiry.
+     * @return {@var ChainableAPI}
+     */
+    private Signal<V> replay(int size, long age) {
+        Signaling<Object> share = new Signaling();
+        Signaling<Object> pump = new Signaling();
+        Object lock = new Object();
+        Object[][] values = {new Object[Math.min(size, 1024)]};
+        long[][] times = {new long[age == 0 ? 0 : values[0].length]};
+        int[] ring = {0, 0}; // head and count
+        Object[] terminal = new Object[1]; // lock means completion
+        boolean[] connected = {false};
+
+        // evict the expired values
+        WiseConsumer<Long> expire = now -> {
+            while (ring[1] != 0 && age < now - times[0][ring[0]]) {
+                values[0][ring[0]] = null;
+                ring[0] = (ring[0] + 1) % values[0].length;
+                ring[1]--;
+            }
+        };
+
+        return new Signal<>((observer, disposer) -> {
+            // null value is stored as UNDEF, the terminal event is queued as lock
+            Queue queue = new ConcurrentLinkedQueue();
+            AtomicInteger wip = new AtomicInteger();
+            Runnable drain = () -> {
+                if (wip.getAndIncrement() == 0) {
+                    int missed = 1;
+                    do {
+                        Object value;
+                        while (!disposer.isDisposed() && (value = queue.poll()) != null) {
+                            try {
+                                if (value != lock) {
+                                    observer.accept(value == UNDEF ? null : (V) value);
+                                } else if (terminal[0] == lock) {
+                                    observer.complete();
+                                } else {
+                                    observer.error((Throwable) terminal[0]);
+                                }
+                            } catch (Throwable e) {
+                                // the observer has been notified its own failure already, discard
+                                // only this subscription so the failure never affects the others
+                                disposer.dispose();
+                            }
+                        }
+                        missed = wip.addAndGet(-missed);
+                    } while (missed != 0);
+                }
+            };
+
+            boolean connect;
+            synchronized (lock) {
+                if (age != 0) expire.accept(System.nanoTime());
+
+                for (int i = 0; i < ring[1]; i++) {
+                    Object value = values[0][(ring[0] + i) % values[0].length];
+                    queue.offer(value == null ? UNDEF : value);
+                }
+
+                if (terminal[0] != null) {
+                    queue.offer(lock);
+                } else {
+                    disposer.add(share.add(value -> queue.offer(value == null ? UNDEF : value)));
+                    disposer.add(pump.add(value -> drain.run()));
+                }
+
+                connect = !connected[0];
+                connected[0] = true;
+            }
+            drain.run();
+
+            if (connect) to(value -> {
+                synchronized (lock) {
+                    if (size != 0) {
+                        long now = age == 0 ? 0 : System.nanoTime();
+                        if (age != 0) expire.accept(now);
+
+                        int capacity = values[0].length;
+                        if (ring[1] == capacity && capacity < size) {
+                            // grow buffer
+                            int grown = (int) Math.min(size, capacity * 2L);
+                            Object[] v = new Object[grown];
+                            long[] t = new long[age == 0 ? 0 : grown];
+                            for (int i = 0; i < ring[1]; i++) {
+                                v[i] = values[0][(ring[0] + i) % capacity];
+                                if (age != 0) t[i] = times[0][(ring[0] + i) % capacity];
+                            }
+                            values[0] = v;
+                            times[0] = t;
+                            ring[0] = 0;
+                            capacity = grown;
+                        }
+
+                        int tail = (ring[0] + ring[1]) % capacity;
+                        values[0][tail] = value;
+                        if (age != 0) times[0][tail] = now;
 
-            // API definition
+                        if (ring[1] == capacity) {
+                            // overwrite the oldest
+                            ring[0] = (ring[0] + 1) % capacity;
+                        } else {
+                            ring[1]++;
+                        }
+                    }
+                    share.accept(value);
+                }
+                pump.accept(null);
+            }, e -> {
+                synchronized (lock) {
+                    terminal[0] = e;
+                    share.accept(lock);
+                }
+                pump.accept(null);
+            }, () -> {
+                synchronized (lock) {
+                    terminal[0] = lock;
+                    share.accept(lock);
+                }
+                pump.accept(null);
+            });
             return disposer;
         });
     }
@@ -2553,6 +3975,148 @@ public class Signal<V> {
         });
     }
 
+    /**
+     * <p>
+     * Subscribes to the inner {@link Signal}s eagerly like {@link #sequenceMap(WiseFunction)}, but
+     * at most the specified number of inner {@link Signal}s are active at the same time and each
+     * inner {@link Signal} is requested only the specified number of values ahead of its emission.
+     * The values are emitted in the order of the source values.
+     * </p>
+     * <p>
+     * The demand-aware source and inner {@link Signal}s never exceed these limits, so memory stays
+     * bounded however fast the source is. The values which are pushed regardless of the demand are
+     * buffered in the array-backed queues.
+     * </p>
+     *
+     * @param function A function that, when applied to an item emitted by the source {@link Signal},
+     *            returns an {@link Signal}.
+     * @param maxConcurrency The maximum number of active inner {@link Signal}s. Zero or negative
+     *            number are treated exactly the same way as 1.
+     * @param prefetch The number of values to request from each inner {@link Signal} ahead. Zero or
+     *            negative number are treated exactly the same way as 1.
+     * @return {@var ChainableAPI}
+     */
+    public <R> Signal<R> sequenceMap(WiseFunction<V, Signal<R>> function, int maxConcurrency, int prefetch) {
+        Objects.requireNonNull(function);
+        int concurrency = Math.max(1, maxConcurrency);
+        int limit = Math.max(1, prefetch);
+
+        return new Signal<>((observer, disposer) -> {
+            Object lock = new Object();
+            Deque<Ⅱ<Disposable, Deque<Object>>> actives = new ArrayDeque<>(concurrency);
+            Deque<Object> waiting = new ArrayDeque();
+            boolean[] completed = new boolean[2]; // source and terminated
+            int[] wip = new int[1];
+
+            Disposable up = disposer.sub();
+            Demand.bound(up, concurrency);
+
+            WiseConsumer<Throwable> error = e -> {
+                synchronized (lock) {
+                    if (!completed[1]) {
+                        completed[1] = true;
+                        up.dispose();
+                        actives.forEach(inner -> inner.ⅰ.dispose());
+                        observer.error(e);
+                    }
+                }
+            };
+
+            Consumer<Object>[] start = new Consumer[1];
+
+            // Emits the buffered values of the head inner and steps into the next inner if it has
+            // completed, the completion is queued as the lock itself. (guarded by lock)
+            Runnable drain = () -> {
+                if (wip[0]++ != 0) {
+                    return;
+                }
+
+                do {
+                    Ⅱ<Disposable, Deque<Object>> head;
+                    while (!completed[1] && (head = actives.peekFirst()) != null) {
+                        int emitted = 0;
+                        Object value;
+                        while ((value = head.ⅱ.pollFirst()) != null && value != lock) {
+                            observer.accept((R) (value == UNDEF ? null : value));
+                            emitted++;
+                        }
+                        if (emitted != 0) head.ⅰ.request(emitted);
+
+                        if (value == null) {
+                            break;
+                        }
+                        actives.pollFirst();
+
+                        // pass the free slot to the waiting source value or request the next one
+                        if (waiting.isEmpty()) {
+                            up.request(1);
+                        } else {
+                            start[0].accept(waiting.pollFirst());
+                        }
+                    }
+
+                    if (actives.isEmpty() && waiting.isEmpty() && completed[0] && !completed[1]) {
+                        completed[1] = true;
+                        observer.complete();
+                    }
+                } while (--wip[0] != 0);
+            };
+
+            // Subscribes the inner for the source value. (guarded by lock)
+            start[0] = value -> {
+                Disposable inner = disposer.sub();
+                Demand.bound(inner, limit);
+                Deque<Object> queue = new ArrayDeque<>(Math.min(limit, 64));
+                actives.addLast(I.pair(inner, queue));
+
+                Signal<R> signal;
+                try {
+                    signal = function.apply((V) (value == UNDEF ? null : value));
+                } catch (Throwable e) {
+                    error.accept(e);
+                    return;
+                }
+
+                signal.to(v -> {
+                    synchronized (lock) {
+                        if (completed[1]) {
+                            return;
+                        } else if (actives.peekFirst().ⅱ == queue && queue.isEmpty()) {
+                            observer.accept(v);
+                            inner.request(1);
+                        } else {
+                            queue.addLast(v == null ? UNDEF : v);
+                        }
+                    }
+                }, error, () -> {
+                    synchronized (lock) {
+                        queue.addLast(lock);
+                        drain.run();
+                    }
+                }, inner, true);
+            };
+
+            to(value -> {
+                synchronized (lock) {
+                    if (completed[1]) {
+                        return;
+                    } else if (actives.size() < concurrency) {
+                        start[0].accept(value == null ? UNDEF : value);
+                    } else {
+                        waiting.addLast(value == null ? UNDEF : value);
+                    }
+                }
+            }, error, () -> {
+                synchronized (lock) {
+                    completed[0] = true;
+                    drain.run();
+                }
+            }, up, false);
+
+            return disposer;
+        });
+    }
+
     /**
      * <p>
      * Returns a new {@link Signal} that multicasts (shares) the original {@link Signal}. As long as
@@ -2567,19 +4131,45 @@ public class Signal<V> {
         Disposable[] root = new Disposable[1];
 
         return new Signal<>((observer, disposer) -> {
-            share.observers.add(observer);
+            Disposable remove, connection = null;
+
+            // The first observer is decided under the monitor of the multicaster, but the source is
+            // subscribed outside of it because the source may emit or subscribe others there.
+            synchronized (share) {
+                remove = share.add(observer);
 
-            if (share.observers.size() == 1) {
-                root[0] = to(share);
+                if (share.size == 1) {
+                    root[0] = connection = Disposable.empty();
+                }
+            }
+
+            if (connection != null) {
+                Disposable source = to(share);
+
+                synchronized (share) {
+                    if (root[0] == connection) {
+                        connection.add(source);
+                        source = null;
+                    }
+                }
+
+                // all observers have gone while connecting
+                if (source != null) source.dispose();
             }
 
             return disposer.add(() -> {
-                share.observers.remove(observer);
+                Disposable disconnection = null;
 
-                if (share.observers.isEmpty() && root[0] != null) {
-                    root[0].dispose();
-                    root[0] = null;
+                synchronized (share) {
+                    remove.dispose();
+
+                    if (share.size == 0 && root[0] != null) {
+                        disconnection = root[0];
+                        root[0] = null;
+                    }
                 }
+
+                if (disconnection != null) disconnection.dispose();
             });
         });
     }
@@ -2754,12 +4344,16 @@ public class Signal<V> {
         }
 
         return new Signal<>((observer, disposer) -> {
+            Demand demand = Demand.limit(disposer);
             Subscriber<V> o = new Subscriber();
             o.observer = observer;
             o.next = value -> {
                 if (predicate.test(value)) {
                     o.next = null;
                     observer.accept(value);
+                } else if (demand != null) {
+                    // replenish the demand consumed by the skipped value
+                    demand.request(1);
                 }
             };
             return to(o, disposer);
@@ -2811,6 +4405,158 @@ public class Signal<V> {
         });
     }
 
+    /**
+     * Sort all items with the bounded memory and then sorted items will be emitted sequentially.
+     * Whenever the specified number of items are buffered, they are sorted and spilled to the
+     * temporary file as the sorted run. On complete event, all runs are merged lazily by reading one
+     * item from each run at a time. At most 64 runs are opened at once, the more runs are merged into
+     * the intermediate runs in multiple passes beforehand. The temporary files are deleted on
+     * termination or disposal.
+     * <p>
+     * Each item is serialized by {@link Model} of the specified type, the atomic type (e.g.
+     * {@link String}, {@link Integer}) is written as its text by {@link Encoder} and the other type
+     * is written as JSON. The order of equal items is preserved.
+     * 
+     * @param comparator An item comparator.
+     * @param maxInMemory The maximum number of items in memory. Zero or negative number will buffer
+     *            all items in memory.
+     * @param type A type of item to serialize.
+     * @return {@var ChainableAPI}
+     */
+    public Signal<V> sort(Comparator<? super V> comparator, int maxInMemory, Class<V> type) {
+        if (maxInMemory <= 0) {
+            return sort(comparator);
+        }
+        Objects.requireNonNull(comparator);
+        Model<V> model = Model.of(type);
+
+        // the maximum number of runs to merge at once
+        int fanIn = 64;
+
+        return new Signal<>((observer, disposer) -> {
+            List<V> buffer = new ArrayList();
+            List<Path> runs = new ArrayList();
+            List<Path> files = new ArrayList();
+            WiseRunnable delete = () -> {
+                for (Path file : files) {
+                    Files.deleteIfExists(file);
+                }
+            };
+            disposer.add(delete::run);
+
+            // Read the next item of the run as the length-prefixed record, UNDEF means the end.
+            WiseFunction<DataInputStream, Object> read = in -> {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    return UNDEF;
+                }
+                if (length == -1) {
+                    return null;
+                }
+                String text = new String(in.readNBytes(length), UTF_8);
+                return model.atomic ? I.transform(text, type) : I.json(text, type);
+            };
+
+            // Merge the sources into the sink, the earlier source wins on tie to keep the order of
+            // equal items.
+            WiseTriConsumer<List<WiseSupplier<Object>>, WiseConsumer<V>, Disposable> merge = (sources, sink, stop) -> {
+                int size = sources.size();
+                Object[] heads = new Object[size];
+                PriorityQueue<Integer> queue = new PriorityQueue<>((a, b) -> {
+                    int result = comparator.compare((V) heads[a], (V) heads[b]);
+                    return result != 0 ? result : Integer.compare(a, b);
+                });
+                for (int i = 0; i < size; i++) {
+                    if ((heads[i] = sources.get(i).get()) != UNDEF) queue.add(i);
+                }
+
+                while (!queue.isEmpty() && !stop.isDisposed()) {
+                    int index = queue.poll();
+                    sink.accept((V) heads[index]);
+                    if ((heads[index] = sources.get(index).get()) != UNDEF) queue.add(index);
+                }
+            };
+
+            // Write the sorted items as the new run, the given action receives the item writer.
+            WiseFunction<WiseConsumer<WiseConsumer<V>>, Path> spill = action -> {
+                Path run = Files.createTempFile("sinobu", ".sort");
+                files.add(run);
+
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run)))) {
+                    action.accept(item -> {
+                        if (item == null) {
+                            out.writeInt(-1);
+                        } else {
+                            byte[] bytes = (model.atomic ? I.transform(item, String.class) : I.write(item)).getBytes(UTF_8);
+                            out.writeInt(bytes.length);
+                            out.write(bytes);
+                        }
+                    });
+                }
+                return run;
+            };
+
+            // Open the runs and merge them into the sink, the extra source is merged as the last run.
+            WiseTriConsumer<List<Path>, Iterator<V>, WiseConsumer<V>> open = (paths, extra, sink) -> {
+                List<DataInputStream> ins = new ArrayList();
+                try {
+                    List<WiseSupplier<Object>> sources = new ArrayList();
+                    for (Path path : paths) {
+                        DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)));
+                        ins.add(in);
+                        sources.add(() -> read.apply(in));
+                    }
+                    if (extra != null) sources.add(() -> extra.hasNext() ? extra.next() : UNDEF);
+
+                    merge.accept(sources, sink, disposer);
+                } finally {
+                    ins.forEach(I::quiet);
+                }
+            };
+
+            return to(value -> {
+                buffer.add(value);
+
+                if (buffer.size() == maxInMemory) {
+                    buffer.sort(comparator);
+                    runs.add(spill.apply(writer -> buffer.forEach(writer)));
+                    buffer.clear();
+                }
+            }, observer::error, () -> {
+                try {
+                    // Merge the consecutive runs into the intermediate run until the rest and the
+                    // buffer in memory can be merged at once.
+                    while (fanIn <= runs.size()) {
+                        List<Path> merged = new ArrayList();
+                        for (int i = 0; i < runs.size(); i += fanIn) {
+                            List<Path> group = runs.subList(i, Math.min(i + fanIn, runs.size()));
+                            if (group.size() == 1) {
+                                merged.add(group.get(0));
+                            } else {
+                                merged.add(spill.apply(writer -> open.accept(group, null, writer)));
+                                for (Path path : group) {
+                                    Files.deleteIfExists(path);
+                                }
+                            }
+                        }
+                        runs.clear();
+                        runs.addAll(merged);
+                    }
+
+                    buffer.sort(comparator);
+                    open.accept(runs, buffer.iterator(), observer::accept);
+                    observer.complete();
+                } catch (Throwable e) {
+                    observer.error(e);
+                } finally {
+                    delete.run();
+                }
+            }, disposer, false);
+        });
+    }
+
     /**
      * <p>
      * Emit a specified sequence of items before beginning to emit the items from the source
@@ -2887,11 +4633,39 @@ public class Signal<V> {
 
         return new Signal<>((observer, disposer) -> {
             Iterator<V> iterator = values.iterator();
+            Demand demand = Demand.limit(disposer);
 
-            while (iterator.hasNext() && !disposer.isDisposed()) {
-                observer.accept(iterator.next());
+            if (demand == null) {
+                if (values instanceof RandomAccess && values instanceof List<V> list) {
+                    for (int i = 0, size = list.size(); i < size && !disposer.isDisposed(); i++) {
+                        observer.accept(list.get(i));
+                    }
+                } else {
+                    while (iterator.hasNext() && !disposer.isDisposed()) {
+                        observer.accept(iterator.next());
+                    }
+                }
+                return to(observer, disposer);
             }
-            return to(observer, disposer);
+
+            // emit values only as requested
+            Demand emitter = Demand.of(disposer);
+            emitter.emitter = () -> {
+                while (!disposer.isDisposed()) {
+                    if (!iterator.hasNext()) {
+                        emitter.emitter = null;
+                        to(observer, disposer);
+                        return;
+                    }
+
+                    if (!demand.acquire()) {
+                        return;
+                    }
+                    observer.accept(iterator.next());
+                }
+            };
+            emitter.drain();
+            return disposer;
         });
     }
 
@@ -3078,7 +4852,7 @@ public class Signal<V> {
         if (condition == null) {
             return this;
         }
-        return take((Supplier) null, (context, value) -> condition.test(value));
+        return fuse(() -> value -> condition.test((V) value) ? value : DROP);
     }
 
     /**
@@ -3146,10 +4920,14 @@ public class Signal<V> {
 
         return new Signal<>((observer, disposer) -> {
             AtomicBoolean flag = new AtomicBoolean(init);
+            Demand demand = Demand.limit(disposer);
 
             return to(v -> {
                 if (flag.get() == expect) {
                     observer.accept(v);
+                } else if (demand != null) {
+                    // replenish the demand consumed by the dropped value
+                    demand.request(1);
                 }
             }, observer::error, observer::complete, disposer, false).add(condition.to(flag::set));
         });
@@ -3254,6 +5032,15 @@ public class Signal<V> {
             return this;
         }
 
+        // filter never stops, so it is stateless except for the context
+        if (!stopOnFail) {
+            return fuse(() -> {
+                C context = contextSupplier == null ? null : contextSupplier.get();
+
+                return value -> condition.test(context, (V) value) == expected ? value : DROP;
+            });
+        }
+
         return new Signal<>((observer, disposer) -> {
             // Normally, Signal will be disposed automatically after a COMPLETE event is sent. But
             // it
@@ -3274,6 +5061,7 @@ public class Signal<V> {
             // Here we adopt this way.
             AtomicBoolean stopped = new AtomicBoolean();
             C context = contextSupplier == null ? null : contextSupplier.get();
+            Demand demand = Demand.limit(disposer);
 
             return to(value -> {
                 if (!stopped.get()) {
@@ -3284,6 +5072,9 @@ public class Signal<V> {
                             stopped.set(true); // flag up immediately
                             if (includeOnStop) observer.accept(value);
                             observer.complete();
+                        } else if (demand != null) {
+                            // replenish the demand consumed by the dropped value
+                            demand.request(1);
                         }
                     }
                 }
@@ -3314,17 +5105,55 @@ public class Signal<V> {
         }
 
         return new Signal<>((observer, disposer) -> {
+            // The timeout fires on the other thread, so the value and the terminal event are
+            // serialized and nothing is forwarded after the termination.
+            boolean[] terminated = new boolean[1];
+            Runnable[] timer = new Runnable[2]; // [0] is restart, [1] is stop
             Runnable timeout = () -> {
+                synchronized (terminated) {
+                    if (terminated[0]) return;
+                    terminated[0] = true;
+                }
                 observer.error(new TimeoutException());
                 disposer.dispose();
             };
 
-            AtomicReference<Disposable> d = new AtomicReference<>(I.schedule(time, unit, scheduler).to(timeout));
+            // The default scheduler uses the shared timing wheel which extends the same timer on
+            // each value.
+            if (scheduler.length == 0) {
+                Timer wheel = new Timer(timeout);
+                disposer.add(wheel);
+                timer[0] = () -> wheel.schedule(time, unit);
+                timer[1] = wheel::cancel;
+            } else {
+                AtomicReference<Disposable> d = new AtomicReference<>(Disposable.empty());
+                disposer.add(() -> d.get().dispose());
+                timer[0] = () -> d.getAndSet(I.schedule(time, unit, scheduler).to(timeout)).dispose();
+                timer[1] = () -> d.get().dispose();
+            }
+            timer[0].run();
 
-            WiseConsumer<Object> effect = v -> {
-                d.getAndSet(v == null ? null : I.schedule(time, unit, scheduler).to(timeout)).dispose();
-            };
-            return effect(effect.bind(this)).effectOnTerminate(effect.bind(null)).to(observer, disposer);
+            return to(value -> {
+                synchronized (terminated) {
+                    if (terminated[0]) return;
+                    timer[0].run();
+                    observer.accept(value);
+                }
+            }, e -> {
+                synchronized (terminated) {
+                    if (terminated[0]) return;
+                    terminated[0] = true;
+                }
+                timer[1].run();
+                observer.error(e);
+            }, () -> {
+                synchronized (terminated) {
+                    if (terminated[0]) return;
+                    terminated[0] = true;
+                }
+                timer[1].run();
+                observer.complete();
+            }, disposer, false);
         });
     }
 
@@ -3381,6 +5210,174 @@ public class Signal<V> {
         });
     }
 
+    /**
+     * <p>
+     * Limit the rate of values by the token bucket. Unlike {@link #throttle(long, TimeUnit)}, the
+     * value which exceeds the rate is delayed instead of being dropped. The bucket holds the
+     * specified number of tokens at most and is refilled at the specified rate, each value consumes
+     * one token. So the burst of values is emitted immediately while tokens remain and the rest are
+     * emitted at the constant rate.
+     * </p>
+     * <p>
+     * The waiting values are buffered without limit, see
+     * {@link #rateLimit(int, Duration, int, int, boolean, ScheduledExecutorService...)} to bound
+     * the buffer. The error is emitted immediately, the completion is emitted after all buffered
+     * values.
+     * </p>
+     * 
+     * @param permits The number of values allowed in the specified duration.
+     * @param per The duration to refill the permits.
+     * @param burst The capacity of bucket. Zero or negative number are treated exactly the same way
+     *            as 1.
+     * @param scheduler The task scheduler.
+     * @return {@var ChainableAPI}
+     */
+    public Signal<V> rateLimit(int permits, Duration per, int burst, ScheduledExecutorService... scheduler) {
+        return rateLimit(permits, per, burst, Integer.MAX_VALUE, false, scheduler);
+    }
+
+    /**
+     * <p>
+     * Limit the rate of values by the token bucket. Unlike {@link #throttle(long, TimeUnit)}, the
+     * value which exceeds the rate is delayed instead of being dropped. The bucket holds the
+     * specified number of tokens at most and is refilled at the specified rate, each value consumes
+     * one token. So the burst of values is emitted immediately while tokens remain and the rest are
+     * emitted at the constant rate.
+     * </p>
+     * <p>
+     * When the buffer of waiting values overflows, the oldest value is dropped or the upstream is
+     * disposed and {@link IllegalStateException} is signaled. The error is emitted immediately, the
+     * completion is emitted after all buffered values.
+     * </p>
+     * 
+     * @param permits The number of values allowed in the specified duration.
+     * @param per The duration to refill the permits.
+     * @param burst The capacity of bucket. Zero or negative number are treated exactly the same way
+     *            as 1.
+     * @param capacity The maximum number of waiting values. Zero or negative number are treated
+     *            exactly the same way as 1.
+     * @param dropOldest Drop the oldest waiting value on overflow instead of signaling error.
+     * @param scheduler The task scheduler.
+     * @return {@var ChainableAPI}
+     */
+    public Signal<V> rateLimit(int permits, Duration per, int burst, int capacity, boolean dropOldest, ScheduledExecutorService... scheduler) {
+        // ignore invalid parameters
+        if (permits <= 0 || per == null || per.isNegative() || per.isZero()) {
+            return this;
+        }
+
+        // The bucket is tracked as the theoretical arrival time of the next value (GCRA), the value
+        // is allowed when the time minus the tolerance of burst has passed.
+        long interval = Math.max(1, per.toNanos() / permits);
+        long tolerance = (Math.max(1, burst) - 1) * interval;
+        // While values are backlogged, the lag of the wake-up is caught up within the capacity of
+        // bucket, or within one tick of the timer if the rate is finer than it.
+        long slack = Math.max(0, Timer.TICK - tolerance);
+        int limit = Math.max(1, capacity);
+
+        return new Signal<>((observer, disposer) -> {
+            // null value is stored as UNDEF, the terminal event is error or UNDEF as completion
+            Deque queue = new ArrayDeque();
+            AtomicReference terminal = new AtomicReference();
+            AtomicInteger wip = new AtomicInteger();
+            long[] arrival = {System.nanoTime()};
+            boolean[] flags = new boolean[3]; // [0] is scheduled, [1] is terminated, [2] is backlogged
+            Disposable upstream = disposer.sub();
+            Runnable[] drain = new Runnable[1];
+            Runnable wake = () -> {
+                synchronized (queue) {
+                    flags[0] = false;
+                }
+                drain[0].run();
+            };
+
+            // The default scheduler uses the shared timing wheel which reuses the same timer.
+            Timer timer = scheduler.length == 0 ? new Timer(wake) : null;
+            if (timer != null) disposer.add(timer);
+
+            drain[0] = () -> {
+                if (wip.getAndIncrement() != 0) {
+                    return;
+                }
+
+                int missed = 1;
+                do {
+                    while (!flags[1] && !disposer.isDisposed()) {
+                        Object value;
+                        synchronized (queue) {
+                            if (queue.isEmpty() || terminal.get() instanceof Throwable) {
+                                flags[2] = false;
+                                break;
+                            }
+
+                            long now = System.nanoTime();
+                            long wait = arrival[0] - tolerance - now;
+                            if (0 < wait) {
+                                // wait for the next token
+                                flags[2] = true;
+                                if (!flags[0]) {
+                                    flags[0] = true;
+                                    if (timer != null) {
+                                        timer.schedule(wait, NANOSECONDS);
+                                    } else {
+                                        I.schedule(wait, NANOSECONDS, scheduler).to(wake);
+                                    }
+                                }
+                                break;
+                            }
+                            // While backlogged, the next slot follows the previous one, so the lag of
+                            // the wake-up is caught up by emitting the passed slots in this drain.
+                            arrival[0] = Math.max(arrival[0], flags[2] ? now - slack : now) + interval;
+                            value = queue.pollFirst();
+                        }
+                        observer.accept(value == UNDEF ? null : (V) value);
+                    }
+
+                    Object end = terminal.get();
+                    if (end != null && !flags[1] && (end instanceof Throwable || queue.isEmpty())) {
+                        flags[1] = true;
+                        if (end instanceof Throwable e) {
+                            observer.error(e);
+                        } else {
+                            observer.complete();
+                        }
+                    }
+                    missed = wip.addAndGet(-missed);
+                } while (missed != 0);
+            };
+
+            to(value -> {
+                synchronized (queue) {
+                    if (terminal.get() != null) {
+                        return;
+                    }
+
+                    if (limit <= queue.size()) {
+                        if (dropOldest) {
+                            queue.pollFirst();
+                        } else {
+                            terminal.set(new IllegalStateException("Buffer overflows the capacity [" + limit + "]."));
+                            upstream.dispose();
+                        }
+                    }
+
+                    if (terminal.get() == null) {
+                        queue.offerLast(value == null ? UNDEF : value);
+                    }
+                }
+                drain[0].run();
+            }, e -> {
+                terminal.compareAndSet(null, e);
+                drain[0].run();
+            }, () -> {
+                terminal.compareAndSet(null, UNDEF);
+                drain[0].run();
+            }, upstream, false);
+
+            return disposer;
+        });
+    }
+
     /**
      * Returns an {@link Signal} that applies the given two constants alternately to each item
      * emitted by an {@link Signal} and emits the result.
@@ -3413,7 +5410,7 @@ public class Signal<V> {
 
             try {
                 CountDownLatch latch = new CountDownLatch(1);
-                to(observer, I.bundle(error, I.wiseC(latch::countDown)), I.bundle(latch::countDown, observer::complete), disposer
+                to(observer, I.bundle(error, I.wiseC(latch::countDown)), I.bundle(observer::complete, latch::countDown), disposer
                         .add(latch::countDown), false);
                 latch.await();
             } catch (Throwable e) {
@@ -3424,6 +5421,66 @@ public class Signal<V> {
         });
     }
 
+    /**
+     * <p>
+     * Aggregates the latest values in the sliding window of the specified count. Each value updates
+     * the aggregates (count, sum, average, min, max) incrementally, and the {@link Window} is
+     * emitted for every value.
+     * </p>
+     * <p>
+     * <b>The same mutable {@link Window} is emitted every time.</b> Use {@link Window#snapshot()}
+     * to keep it beyond the observer.
+     * </p>
+     * 
+     * @param size A maximum number of values in the window. Zero or negative number are treated
+     *            exactly the same way as 1.
+     * @param value A value extractor.
+     * @return {@var ChainableAPI}
+     */
+    public Signal<Window> window(int size, ToDoubleFunction<V> value) {
+        return window(Math.max(1, size), 0, value);
+    }
+
+    /**
+     * <p>
+     * Aggregates the values which arrived within the specified time in the sliding window. Each
+     * value updates the aggregates (count, sum, average, min, max) incrementally, and the
+     * {@link Window} is emitted for every value.
+     * </p>
+     * <p>
+     * <b>The same mutable {@link Window} is emitted every time.</b> Use {@link Window#snapshot()}
+     * to keep it beyond the observer.
+     * </p>
+     * 
+     * @param time A maximum age of values in the window.
+     * @param value A value extractor.
+     * @return {@var ChainableAPI}
+     */
+    public Signal<Window> window(Duration time, ToDoubleFunction<V> value) {
+        return window(0, Math.max(1, time.toNanos()), value);
+    }
+
+    /**
+     * Aggregates the values in the sliding window.
+     * 
+     * @param size A maximum number of values, 0 means unbounded.
+     * @param age A maximum age of values (ns), 0 means no expiry.
+     * @param value A value extractor.
+     * @return {@var ChainableAPI}
+     */
+    private Signal<Window> window(int size, long age, ToDoubleFunction<V> value) {
+        Objects.requireNonNull(value);
+
+        return new Signal<>((observer, disposer) -> {
+            Window window = new Window(size, age);
+
+            return to(v -> {
+                window.add(value.applyAsDouble(v), age == 0 ? 0 : System.nanoTime());
+                observer.accept(window);
+            }, observer::error, observer::complete, disposer, false);
+        });
+    }
+
     /**
      * This is another name for {@link #flatMap(WiseFunction)}, primarily for use in DSL.
      * 
@@ -3460,6 +5517,34 @@ public class Signal<V> {
         return completer;
     }
 
+    /**
+     * Fuse the stateless operator into this {@link Signal}.
+     * 
+     * @param stage A value converter factory which is invoked per subscription.
+     * @return {@var ChainableAPI}
+     */
+    private <R> Signal<R> fuse(Supplier<Function> stage) {
+        if (source == null) {
+            return new Signal<>((Signal<Object>) this, new Supplier[] {stage});
+        }
+
+        Supplier[] fused = Arrays.copyOf(stages, stages.length + 1);
+        fused[stages.length] = stage;
+        return new Signal<>(source, fused);
+    }
+
+    /**
+     * Create child {@link Disposable} which shares the demand of the specified parent.
+     * 
+     * @param parent A parent {@link Disposable}.
+     * @return A child {@link Disposable}.
+     */
+    private static Disposable inherit(Disposable parent) {
+        Disposable child = parent.sub();
+        Demand.share(parent, child);
+        return child;
+    }
+
     /**
      * Signal detection operator helper.
      * 
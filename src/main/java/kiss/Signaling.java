@@ -9,27 +9,76 @@
  */
 package kiss;
 
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 
 /**
  * Simple {@link Signal} support subject.
+ * <p>
+ * The listeners are stored in the linked fixed-size chunks. Subscription appends the listener to
+ * the next slot of the tail chunk by CAS and disposal clears it, so neither copies the whole
+ * listeners like {@link Signal#Signal(java.util.Collection)} with the copy-on-write list does, and
+ * the listeners are always notified in the order of subscription. The cleared slot is never
+ * reused, instead the chunk whose listeners are all disposed is unlinked. Each chunk is
+ * {@code Object[]} which holds the listeners, the counters ({@code long[]}) and the next chunk.
  */
 public class Signaling<V> implements Observer<V> {
 
-    /** The internal listeners. */
-    final CopyOnWriteArrayList<Observer<? super V>> observers = new CopyOnWriteArrayList();
+    /** The number of listeners per chunk. */
+    private static final int CHUNK = 16;
+
+    /** The index of counters in chunk. */
+    private static final int COUNTERS = CHUNK;
+
+    /** The index of the next chunk in chunk. */
+    private static final int NEXT = CHUNK + 1;
+
+    /** The index of the number of claimed slots in counters, the others are subscription stamps. */
+    private static final int CLAIMED = CHUNK;
+
+    /** The index of the number of the live listeners in counters. */
+    private static final int LIVE = CHUNK + 1;
+
+    /** The atomic accessor for chunk. */
+    private static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    /** The atomic accessor for counters. */
+    private static final VarHandle COUNTER = MethodHandles.arrayElementVarHandle(long[].class);
+
+    /** The atomic accessor for {@link #stamp} and {@link #size}. */
+    private static final VarHandle STAMP, SIZE;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            STAMP = lookup.findVarHandle(Signaling.class, "stamp", long.class);
+            SIZE = lookup.findVarHandle(Signaling.class, "size", int.class);
+        } catch (Exception e) {
+            throw I.quiet(e);
+        }
+    }
+
+    /** The first chunk of the internal listeners. */
+    private volatile Object[] head = chunk();
+
+    /** The last chunk of the internal listeners, the new listener is appended to it. */
+    private volatile Object[] tail = head;
+
+    /** The subscription stamp to ignore the listener which is added while notifying. */
+    private volatile long stamp;
+
+    /** The number of listeners. */
+    volatile int size;
 
     /** The exposed interface. */
-    public final Signal<V> expose = new Signal(observers);
+    public final Signal<V> expose = new Signal<>((observer, disposer) -> disposer.add(add(observer)));
 
     /**
      * {@inheritDoc}
      */
     @Override
     public void accept(V value) {
-        for (Observer<? super V> observer : observers) {
-            observer.accept(value);
-        }
+        notify(0, value);
     }
 
     /**
@@ -37,9 +86,7 @@ public class Signaling<V> implements Observer<V> {
      */
     @Override
     public void complete() {
-        for (Observer<? super V> observer : observers) {
-            observer.complete();
-        }
+        notify(1, null);
     }
 
     /**
@@ -47,8 +94,130 @@ public class Signaling<V> implements Observer<V> {
      */
     @Override
     public void error(Throwable error) {
-        for (Observer<? super V> observer : observers) {
-            observer.error(error);
+        notify(2, error);
+    }
+
+    /**
+     * Notify the event to all listeners which are added before this notification. This method
+     * never allocates.
+     * 
+     * @param type 0 is value, 1 is completion and 2 is error.
+     * @param value The value or error.
+     */
+    private void notify(int type, Object value) {
+        long limit = stamp;
+
+        for (Object[] chunk = head; chunk != null; chunk = (Object[]) SLOT.getAcquire(chunk, NEXT)) {
+            long[] stamps = (long[]) chunk[COUNTERS];
+
+            for (int i = 0; i < CHUNK; i++) {
+                if (SLOT.getAcquire(chunk, i) instanceof Observer observer && stamps[i] < limit) {
+                    switch (type) {
+                    case 0 -> observer.accept(value);
+                    case 1 -> observer.complete();
+                    default -> observer.error((Throwable) value);
+                    }
+                }
+            }
         }
     }
+
+    /**
+     * Append the listener to the tail.
+     * 
+     * @param observer A listener to add.
+     * @return The {@link Disposable} to remove the listener.
+     */
+    Disposable add(Observer<? super V> observer) {
+        while (true) {
+            Object[] chunk = tail;
+            long[] counters = (long[]) chunk[COUNTERS];
+
+            // Count the listener as live before claiming the slot, so the chunk is never released
+            // while its last slot is being claimed.
+            COUNTER.getAndAdd(counters, LIVE, 1L);
+            int index = (int) (long) COUNTER.getAndAdd(counters, CLAIMED, 1L);
+
+            if (index < CHUNK) {
+                counters[index] = (long) STAMP.getAndAdd(this, 1L);
+                SLOT.setRelease(chunk, index, observer);
+                SIZE.getAndAdd(this, 1);
+
+                return () -> {
+                    if (SLOT.compareAndSet(chunk, index, observer, null)) {
+                        SIZE.getAndAdd(this, -1);
+                        release(chunk);
+                    }
+                };
+            }
+
+            // the chunk is full
+            release(chunk);
+            extend(chunk);
+        }
+    }
+
+    /**
+     * Uncount the live listener and unlink the chunk if all its slots are claimed and all its
+     * listeners are disposed. The tail chunk is kept for the next subscription.
+     * 
+     * @param chunk A target chunk.
+     */
+    private void release(Object[] chunk) {
+        long[] counters = (long[]) chunk[COUNTERS];
+
+        if ((long) COUNTER.getAndAdd(counters, LIVE, -1L) == 1 && CHUNK <= (long) COUNTER.getVolatile(counters, CLAIMED)) {
+            synchronized (this) {
+                if (chunk != tail) unlink(chunk);
+            }
+        }
+    }
+
+    /**
+     * Append the new chunk after the full tail chunk.
+     * 
+     * @param full The full tail chunk.
+     */
+    private synchronized void extend(Object[] full) {
+        if (full == tail) {
+            Object[] next = chunk();
+            SLOT.setRelease(full, NEXT, next);
+            tail = next;
+
+            // all listeners in the previous tail may have been disposed already
+            if ((long) COUNTER.getVolatile((long[]) full[COUNTERS], LIVE) == 0) unlink(full);
+        }
+    }
+
+    /**
+     * Unlink the chunk from the chain. The notification which is walking the unlinked chunk can
+     * still reach the following chunks. This method must be called while holding the lock.
+     * 
+     * @param chunk A chunk to unlink.
+     */
+    private void unlink(Object[] chunk) {
+        Object[] next = (Object[]) SLOT.getAcquire(chunk, NEXT);
+
+        if (head == chunk) {
+            head = next;
+        } else {
+            for (Object[] prev = head; prev != null; prev = (Object[]) SLOT.getAcquire(prev, NEXT)) {
+                if (SLOT.getAcquire(prev, NEXT) == chunk) {
+                    SLOT.setRelease(prev, NEXT, next);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Create the empty chunk.
+     * 
+     * @return A new chunk.
+     */
+    private static Object[] chunk() {
+        Object[] chunk = new Object[CHUNK + 2];
+        chunk[COUNTERS] = new long[CHUNK + 2];
+        return chunk;
+    }
 }
\ No newline at end of file
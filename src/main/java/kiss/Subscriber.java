@@ -149,14 +149,22 @@ class Subscriber<T> implements Observer<T>, Disposable, WebSocket.Listener, Stor
     // ======================================================================
     private static final Map<Disposable, Subscriber> cache = new WeakHashMap();
 
-    static synchronized Subscriber of(Disposable disposable) {
+    static Subscriber of(Disposable disposable) {
         if (disposable instanceof Subscriber) {
             return (Subscriber) disposable;
         } else {
-            return cache.computeIfAbsent(disposable, k -> new Subscriber());
+            synchronized (cache) {
+                return cache.computeIfAbsent(disposable, k -> new Subscriber());
+            }
         }
     }
 
+    // ======================================================================
+    // Demand Management
+    // ======================================================================
+    /** The demand state, see {@link Demand}. */
+    volatile Demand demand;
+
     // ======================================================================
     // Websocket Listener
     // ======================================================================
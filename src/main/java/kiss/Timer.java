@@ -0,0 +1,237 @@
+/*
+ * Copyright (C) 2024 The SINOBU Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package kiss;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The reusable one-shot timer on the shared hashed timing wheel.
+ * <p>
+ * All timers are linked into the buckets of one wheel which is turned by a single virtual thread
+ * every tick (1ms), so the scheduling creates neither task, thread nor queue entry. Rescheduling
+ * the armed timer to the later time (e.g. debounce) is the lock-free update of its deadline only,
+ * the wheel relocates the timer lazily when it reaches the bucket. The expired action runs on the
+ * dedicated pool of virtual threads which reuses the idle thread and never depends on {@link I}, so
+ * the wheel keeps the time even while the first use of {@link I} is initializing it.
+ */
+final class Timer implements Disposable {
+
+    /** The tick duration. (ns) */
+    static final long TICK = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /** The number of buckets, it must be power of 2. */
+    private static final int SIZE = 512;
+
+    /** The deadline of disarmed timer. */
+    private static final long IDLE = Long.MIN_VALUE;
+
+    /** The atomic accessor for {@link #deadline}. */
+    private static final VarHandle DEADLINE;
+
+    /** The bucket heads, each is the sentinel of circular doubly linked list. */
+    private static final Timer[] wheel = new Timer[SIZE];
+
+    /** The base time of ticks. (ns) */
+    private static final long origin = System.nanoTime();
+
+    /** The executor of expired actions. */
+    private static final Executor runner = Executors.newCachedThreadPool(Thread.ofVirtual().name("Sinobu Timer Action").factory());
+
+    /** The wheel turner. */
+    private static final Thread turner;
+
+    /** The next tick to process. (guarded by wheel) */
+    private static long tick;
+
+    /** The number of linked timers. (guarded by wheel) */
+    private static int count;
+
+    static {
+        try {
+            DEADLINE = MethodHandles.lookup().findVarHandle(Timer.class, "deadline", long.class);
+        } catch (Exception e) {
+            throw I.quiet(e);
+        }
+
+        for (int i = 0; i < SIZE; i++) {
+            wheel[i] = new Timer(null);
+        }
+        turner = Thread.ofVirtual().name("Sinobu Timer").start(Timer::turn);
+    }
+
+    /** The action to run on expiry. */
+    private final Runnable action;
+
+    /** The expiry time (ns) or {@link #IDLE}. */
+    private volatile long deadline = IDLE;
+
+    /** The links in bucket. (guarded by wheel) */
+    private Timer prev = this, next = this;
+
+    /** The link in expired chain. (used by turner only) */
+    private Timer expired;
+
+    /**
+     * Create the disarmed timer.
+     *
+     * @param action The action to run on expiry.
+     */
+    Timer(Runnable action) {
+        this.action = action;
+    }
+
+    /**
+     * Arm this timer, the previous schedule is replaced.
+     *
+     * @param delay The delay time.
+     * @param unit The time unit.
+     */
+    void schedule(long delay, TimeUnit unit) {
+        long time = System.nanoTime() + unit.toNanos(delay);
+
+        while (true) {
+            long current = deadline;
+
+            // Extending the armed timer just updates the deadline, the wheel relocates it lazily.
+            if (current == IDLE || time - current < 0) {
+                break;
+            } else if (DEADLINE.compareAndSet(this, current, time)) {
+                return;
+            }
+        }
+
+        synchronized (wheel) {
+            boolean armed = unlink();
+            deadline = time;
+            link(Math.max(tick, ticks(time)));
+
+            if (!armed && count++ == 0) LockSupport.unpark(turner);
+        }
+    }
+
+    /**
+     * Disarm this timer.
+     */
+    void cancel() {
+        synchronized (wheel) {
+            deadline = IDLE;
+            if (unlink()) count--;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void vandalize() {
+        cancel();
+    }
+
+    /**
+     * Link to the bucket of the specified tick. (guarded by wheel)
+     *
+     * @param tick A target tick.
+     */
+    private void link(long tick) {
+        Timer head = wheel[(int) (tick & (SIZE - 1))];
+        prev = head.prev;
+        next = head;
+        head.prev.next = this;
+        head.prev = this;
+    }
+
+    /**
+     * Unlink from the current bucket. (guarded by wheel)
+     *
+     * @return true if this timer was linked.
+     */
+    private boolean unlink() {
+        if (next == this) {
+            return false;
+        }
+        prev.next = next;
+        next.prev = prev;
+        prev = next = this;
+        return true;
+    }
+
+    /**
+     * Compute the tick which is not before the specified time.
+     *
+     * @param time A nano time.
+     * @return The tick.
+     */
+    private static long ticks(long time) {
+        return Math.ceilDiv(time - origin, TICK);
+    }
+
+    /**
+     * Turn the wheel forever.
+     */
+    private static void turn() {
+        while (true) {
+            Timer chain = null;
+            long wait = 0;
+
+            synchronized (wheel) {
+                long now = Math.floorDiv(System.nanoTime() - origin, TICK);
+
+                for (long t = Math.max(tick, now - SIZE + 1); t <= now; t++) {
+                    Timer head = wheel[(int) (t & (SIZE - 1))];
+
+                    for (Timer timer = head.next, following; timer != head; timer = following) {
+                        following = timer.next;
+
+                        while (true) {
+                            long time = timer.deadline;
+                            long at = ticks(time);
+
+                            if (now < at) {
+                                // not expired yet, relocate if it was extended to the other bucket
+                                if (((at ^ t) & (SIZE - 1)) != 0) {
+                                    timer.unlink();
+                                    timer.link(at);
+                                }
+                                break;
+                            } else if (DEADLINE.compareAndSet(timer, time, IDLE)) {
+                                timer.unlink();
+                                timer.expired = chain;
+                                chain = timer;
+                                count--;
+                                break;
+                            }
+                        }
+                    }
+                }
+                tick = now + 1;
+                if (count != 0) wait = Math.max(1, origin + tick * TICK - System.nanoTime());
+            }
+
+            // execute the expired actions
+            while (chain != null) {
+                runner.execute(chain.action);
+                Timer expired = chain.expired;
+                chain.expired = null;
+                chain = expired;
+            }
+
+            if (wait == 0) {
+                LockSupport.park(wheel);
+            } else {
+                LockSupport.parkNanos(wheel, wait);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2024 The SINOBU Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package kiss;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * The {@link Appendable} which encodes characters directly into the byte buffer as UTF-8 and writes
+ * them to the {@link OutputStream}. The surrogate pair is carried across the buffer boundary, the
+ * unpaired surrogate is written as '?'.
+ * <p>
+ * The encoder and its buffer are reused per thread, see {@link #open(OutputStream)} and
+ * {@link #close()}.
+ */
+final class Utf8 implements Appendable {
+
+    /** The idle encoder of each thread. */
+    private static final ThreadLocal<Utf8> idle = new ThreadLocal();
+
+    /** The byte buffer. */
+    private final byte[] bytes = new byte[8192];
+
+    /** The current size of the byte buffer. */
+    private int size;
+
+    /** The pending high surrogate. */
+    private char high;
+
+    /** The destination. */
+    private OutputStream out;
+
+    /**
+     * Use {@link #open(OutputStream)} instead.
+     */
+    private Utf8() {
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Appendable append(CharSequence text) throws IOException {
+        return append(text, 0, text.length());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Appendable append(CharSequence text, int start, int end) throws IOException {
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+
+            // fast path for ASCII run
+            if (c < 0x80 && high == 0) {
+                if (size == bytes.length) flush();
+                bytes[size++] = (byte) c;
+            } else {
+                append(c);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Appendable append(char c) throws IOException {
+        // make room for the longest sequence
+        if (bytes.length - size < 4) flush();
+
+        if (high != 0) {
+            if (Character.isLowSurrogate(c)) {
+                int code = Character.toCodePoint(high, c);
+                high = 0;
+                bytes[size++] = (byte) (0xF0 | code >> 18);
+                bytes[size++] = (byte) (0x80 | code >> 12 & 0x3F);
+                bytes[size++] = (byte) (0x80 | code >> 6 & 0x3F);
+                bytes[size++] = (byte) (0x80 | code & 0x3F);
+                return this;
+            }
+
+            // unpaired surrogate
+            high = 0;
+            bytes[size++] = '?';
+            return append(c);
+        }
+
+        if (c < 0x80) {
+            bytes[size++] = (byte) c;
+        } else if (c < 0x800) {
+            bytes[size++] = (byte) (0xC0 | c >> 6);
+            bytes[size++] = (byte) (0x80 | c & 0x3F);
+        } else if (Character.isHighSurrogate(c)) {
+            high = c;
+        } else if (Character.isLowSurrogate(c)) {
+            // unpaired surrogate
+            bytes[size++] = '?';
+        } else {
+            bytes[size++] = (byte) (0xE0 | c >> 12);
+            bytes[size++] = (byte) (0x80 | c >> 6 & 0x3F);
+            bytes[size++] = (byte) (0x80 | c & 0x3F);
+        }
+        return this;
+    }
+
+    /**
+     * Write out the buffered bytes, the pending high surrogate is kept for the next character.
+     */
+    private void flush() throws IOException {
+        out.write(bytes, 0, size);
+        size = 0;
+    }
+
+    /**
+     * Write out all buffered bytes and release this encoder for reuse. The high surrogate which is
+     * still pending is unpaired.
+     */
+    void close() throws IOException {
+        try {
+            if (high != 0) {
+                high = 0;
+                bytes[size++] = '?';
+            }
+            flush();
+        } finally {
+            size = 0;
+            out = null;
+            idle.set(this);
+        }
+    }
+
+    /**
+     * Take the idle encoder of the current thread or create new one.
+     *
+     * @param out The destination.
+     * @return The encoder to write.
+     */
+    static Utf8 open(OutputStream out) {
+        Utf8 encoder = idle.get();
+        if (encoder == null) {
+            encoder = new Utf8();
+        } else {
+            // the nested writing creates its own encoder
+            idle.remove();
+        }
+        encoder.out = out;
+        return encoder;
+    }
+}
\ No newline at end of file
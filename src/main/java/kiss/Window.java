@@ -0,0 +1,352 @@
+/*
+ * Copyright (C) 2024 The SINOBU Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package kiss;
+
+import java.util.Arrays;
+
+/**
+ * The sliding window of double values which is emitted by {@link Signal#window(int, java.util.function.ToDoubleFunction)}
+ * and {@link Signal#window(java.time.Duration, java.util.function.ToDoubleFunction)}.
+ * <p>
+ * <b>The same mutable instance is emitted for every value of the subscription.</b> Read it in the
+ * observer synchronously, or take the immutable copy by {@link #snapshot()} to keep it or to pass
+ * it to another thread.
+ * <p>
+ * The values are stored in the primitive ring buffer and each aggregate is updated incrementally,
+ * so adding or evicting a value costs O(1) (amortized) without rescanning the window. The sum is
+ * compensated by Kahan summation and the minimum / maximum are tracked by the monotonic deques.
+ * The values are kept in sorted order too once {@link #quantile(double)} is called, then each
+ * addition or eviction costs a binary search and a shift of the array instead of sorting the whole
+ * window on every query.
+ */
+public final class Window {
+
+    /** The maximum number of values, 0 means unbounded. */
+    private final int limit;
+
+    /** The maximum age of values (ns), 0 means no expiry. */
+    private final long age;
+
+    /** The ring buffer of values. */
+    private double[] values;
+
+    /** The ring buffer of arrival times. */
+    private long[] times;
+
+    /** The index of the oldest value. */
+    private int head;
+
+    /** The number of values. */
+    private int size;
+
+    /** The total number of added values, it identifies each value. */
+    private long sequence;
+
+    /** The running sum. */
+    private double sum;
+
+    /** The lost low-order bits of the running sum. */
+    private double compensation;
+
+    /** The monotonic deques of value identifiers, [0] is for minimum and [1] is for maximum. */
+    private final long[][] ids = new long[2][];
+
+    /** The monotonic deques of values, [0] is for minimum and [1] is for maximum. */
+    private final double[][] candidates = new double[2][];
+
+    /** The heads of the monotonic deques. */
+    private final int[] heads = new int[2];
+
+    /** The sizes of the monotonic deques. */
+    private final int[] sizes = new int[2];
+
+    /** The sorted values for quantile computation, null until it is required. */
+    private double[] sorted;
+
+    /**
+     * Create the empty window.
+     *
+     * @param limit The maximum number of values, 0 means unbounded.
+     * @param age The maximum age of values (ns), 0 means no expiry.
+     */
+    Window(int limit, long age) {
+        this.limit = limit;
+        this.age = age;
+
+        int capacity = limit == 0 ? 16 : Math.min(limit, 1024);
+        this.values = new double[capacity];
+        this.times = new long[age == 0 ? 0 : capacity];
+        for (int i = 0; i < 2; i++) {
+            ids[i] = new long[capacity];
+            candidates[i] = new double[capacity];
+        }
+    }
+
+    /**
+     * Create the immutable copy of the specified window.
+     *
+     * @param window A window to copy.
+     */
+    private Window(Window window) {
+        this.limit = window.limit;
+        this.age = window.age;
+        this.values = window.values.clone();
+        this.times = window.times.clone();
+        this.head = window.head;
+        this.size = window.size;
+        this.sequence = window.sequence;
+        this.sum = window.sum;
+        this.compensation = window.compensation;
+        this.sorted = window.sorted == null ? null : Arrays.copyOf(window.sorted, window.size);
+        for (int i = 0; i < 2; i++) {
+            ids[i] = window.ids[i].clone();
+            candidates[i] = window.candidates[i].clone();
+            heads[i] = window.heads[i];
+            sizes[i] = window.sizes[i];
+        }
+    }
+
+    /**
+     * Add the value and evict the values which are out of this window.
+     *
+     * @param value A value to add.
+     * @param time The current nano time, it is used only for the time based window.
+     */
+    void add(double value, long time) {
+        if (age != 0) {
+            while (size != 0 && age <= time - times[head]) {
+                evict();
+            }
+        }
+        if (size != 0 && size == limit) evict();
+        if (size == values.length) grow();
+
+        int tail = (head + size) % values.length;
+        values[tail] = value;
+        if (age != 0) times[tail] = time;
+        if (sorted != null) insert(value);
+        size++;
+        accumulate(value);
+
+        // drop the candidates which can never be the minimum (maximum) while this value remains
+        for (int i = 0; i < 2; i++) {
+            while (sizes[i] != 0) {
+                double last = candidates[i][(heads[i] + sizes[i] - 1) % values.length];
+
+                if (i == 0 ? value <= last : last <= value) {
+                    sizes[i]--;
+                } else {
+                    break;
+                }
+            }
+            int index = (heads[i] + sizes[i]++) % values.length;
+            ids[i][index] = sequence;
+            candidates[i][index] = value;
+        }
+        sequence++;
+    }
+
+    /**
+     * Evict the oldest value.
+     */
+    private void evict() {
+        long id = sequence - size;
+        double value = values[head];
+        head = (head + 1) % values.length;
+        size--;
+        if (sorted != null) remove(value);
+
+        if (size == 0) {
+            // clear the accumulated rounding error
+            sum = compensation = 0;
+        } else {
+            accumulate(-value);
+        }
+
+        for (int i = 0; i < 2; i++) {
+            if (sizes[i] != 0 && ids[i][heads[i]] == id) {
+                heads[i] = (heads[i] + 1) % values.length;
+                sizes[i]--;
+            }
+        }
+    }
+
+    /**
+     * Insert the value into the sorted values which have {@link #size} values yet.
+     *
+     * @param value A value to insert.
+     */
+    private void insert(double value) {
+        if (size == sorted.length) sorted = Arrays.copyOf(sorted, values.length);
+
+        int index = Arrays.binarySearch(sorted, 0, size, value);
+        if (index < 0) index = -index - 1;
+        System.arraycopy(sorted, index, sorted, index + 1, size - index);
+        sorted[index] = value;
+    }
+
+    /**
+     * Remove the value from the sorted values which have {@link #size} values already.
+     *
+     * @param value A value to remove.
+     */
+    private void remove(double value) {
+        int index = Arrays.binarySearch(sorted, 0, size + 1, value);
+        System.arraycopy(sorted, index + 1, sorted, index, size - index);
+    }
+
+    /**
+     * Add the value to the running sum with Kahan summation.
+     *
+     * @param value A value to add.
+     */
+    private void accumulate(double value) {
+        double y = value - compensation;
+        double t = sum + y;
+        compensation = (t - sum) - y;
+        sum = t;
+    }
+
+    /**
+     * Double the capacity of all ring buffers.
+     */
+    private void grow() {
+        int capacity = values.length;
+        int grown = limit == 0 ? capacity * 2 : (int) Math.min(limit, capacity * 2L);
+
+        values = unwrap(values, head, size, grown);
+        if (age != 0) times = unwrap(times, head, size, grown);
+        head = 0;
+
+        for (int i = 0; i < 2; i++) {
+            candidates[i] = unwrap(candidates[i], heads[i], sizes[i], grown);
+            ids[i] = unwrap(ids[i], heads[i], sizes[i], grown);
+            heads[i] = 0;
+        }
+    }
+
+    /**
+     * Copy the ring buffer into the new array from the first index.
+     */
+    private static double[] unwrap(double[] ring, int head, int size, int capacity) {
+        double[] array = new double[capacity];
+        for (int i = 0; i < size; i++) {
+            array[i] = ring[(head + i) % ring.length];
+        }
+        return array;
+    }
+
+    /**
+     * Copy the ring buffer into the new array from the first index.
+     */
+    private static long[] unwrap(long[] ring, int head, int size, int capacity) {
+        long[] array = new long[capacity];
+        for (int i = 0; i < size; i++) {
+            array[i] = ring[(head + i) % ring.length];
+        }
+        return array;
+    }
+
+    /**
+     * Get the number of values in this window.
+     *
+     * @return A number of values.
+     */
+    public int count() {
+        return size;
+    }
+
+    /**
+     * Get the sum of values in this window.
+     *
+     * @return A sum.
+     */
+    public double sum() {
+        return sum;
+    }
+
+    /**
+     * Get the arithmetic mean of values in this window.
+     *
+     * @return An average or {@link Double#NaN} if this window is empty.
+     */
+    public double average() {
+        return size == 0 ? Double.NaN : sum / size;
+    }
+
+    /**
+     * Get the minimum value in this window.
+     *
+     * @return A minimum value or {@link Double#NaN} if this window is empty.
+     */
+    public double min() {
+        return size == 0 ? Double.NaN : candidates[0][heads[0]];
+    }
+
+    /**
+     * Get the maximum value in this window.
+     *
+     * @return A maximum value or {@link Double#NaN} if this window is empty.
+     */
+    public double max() {
+        return size == 0 ? Double.NaN : candidates[1][heads[1]];
+    }
+
+    /**
+     * Get the latest value in this window.
+     *
+     * @return A latest value or {@link Double#NaN} if this window is empty.
+     */
+    public double latest() {
+        return size == 0 ? Double.NaN : values[(head + size - 1) % values.length];
+    }
+
+    /**
+     * Get the quantile of values in this window by the nearest-rank method. The first call sorts
+     * the copy of the window, and it is kept sorted incrementally after that.
+     *
+     * @param quantile A quantile in the range 0 to 1. (e.g. 0.5 is median, 0.99 is 99th percentile)
+     * @return A quantile value or {@link Double#NaN} if this window is empty.
+     */
+    public double quantile(double quantile) {
+        if (quantile < 0 || 1 < quantile) {
+            throw new IllegalArgumentException("Quantile must be in the range 0 to 1. [" + quantile + "]");
+        }
+
+        if (size == 0) {
+            return Double.NaN;
+        }
+
+        if (sorted == null) {
+            sorted = unwrap(values, head, size, values.length);
+            Arrays.sort(sorted, 0, size);
+        }
+
+        return sorted[Math.max(0, (int) Math.ceil(quantile * size) - 1)];
+    }
+
+    /**
+     * Take the immutable copy of this window, it keeps the current aggregates while this window
+     * slides.
+     *
+     * @return A copy of this window.
+     */
+    public Window snapshot() {
+        return new Window(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "Window[count=" + size + ", sum=" + sum() + ", min=" + min() + ", max=" + max() + "]";
+    }
+}
\ No newline at end of file
@@ -11,20 +11,28 @@ package kiss;
 
 import static javax.xml.XMLConstants.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
 import java.util.function.UnaryOperator;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpression;
 import javax.xml.xpath.XPathExpressionException;
@@ -57,16 +65,24 @@ import org.w3c.dom.NodeList;
  */
 public class XML implements Iterable<XML>, Consumer<XML> {
 
-    /** The escapable character pattern. */
-    private static final Pattern ESCAPE = Pattern.compile(
-            // Group 1: Match named entities that should be preserved (amp, lt, gt, quot, apos)
-            "&(amp|lt|gt|quot|apos);"
-                    // Match decimal numeric entities (preserve as-is)
-                    + "|&#[0-9]+;"
-                    // Match hexadecimal numeric entities (preserve as-is)
-                    + "|&#x[0-9a-fA-F]+;"
-                    // Group 2: Match raw characters that need escaping
-                    + "|([&\"'<>])");
+    /** The streaming XML reader factory. */
+    private static final XMLInputFactory STAX = XMLInputFactory.newInstance();
+
+    /** The entity table for the escapable characters, indexed by character code. */
+    private static final String[] ENTITIES = new String[63];
+
+    static {
+        ENTITIES['&'] = "&amp;";
+        ENTITIES['<'] = "&lt;";
+        ENTITIES['>'] = "&gt;";
+        ENTITIES['"'] = "&quot;";
+        ENTITIES['\''] = "&apos;";
+
+        // Disallowing DTD will prevent XXE attacks as same as DOM builder.
+        STAX.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        STAX.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        STAX.setProperty(XMLInputFactory.IS_COALESCING, true);
+    }
 
     private static final Pattern SELECTOR = Pattern.compile(""
             // Group 1: Combinator
@@ -659,15 +675,15 @@ public class XML implements Iterable<XML>, Consumer<XML> {
      * @return A new {@code XML} object containing the matching descendant elements.
      */
     public final XML element(String name) {
-        CopyOnWriteArrayList<Node> list = new CopyOnWriteArrayList();
+        List<Node> list = new ArrayList();
 
         for (Node node : nodes) {
             NodeList nodes = ((Element) node).getElementsByTagName(name);
             for (int i = 0; i < nodes.getLength(); i++) {
-                list.addIfAbsent(nodes.item(i));
+                list.add(nodes.item(i));
             }
         }
-        return new XML(doc, list);
+        return new XML(doc, nodes.size() == 1 ? list : unique(list));
     }
 
     /**
@@ -721,15 +737,15 @@ public class XML implements Iterable<XML>, Consumer<XML> {
      * @return A new {@code XML} object containing the unique parent elements.
      */
     public final XML parent() {
-        CopyOnWriteArrayList<Node> list = new CopyOnWriteArrayList();
+        List<Node> list = new ArrayList();
 
         for (Node node : nodes) {
             Node p = node.getParentNode();
             if (p != null) {
-                list.addIfAbsent(p instanceof Element ? p : node);
+                list.add(p instanceof Element ? p : node);
             }
         }
-        return new XML(doc, list);
+        return new XML(doc, unique(list));
     }
 
     /**
@@ -824,7 +840,7 @@ public class XML implements Iterable<XML>, Consumer<XML> {
      * @return A new {@code XML} object containing the collected elements.
      */
     private XML until(String selector, UnaryOperator<Node> traverse) {
-        CopyOnWriteArrayList result = new CopyOnWriteArrayList();
+        List<Node> result = new ArrayList();
         XPathExpression x = compile(selector, "self::");
 
         for (Node node : nodes) {
@@ -839,11 +855,11 @@ public class XML implements Iterable<XML>, Consumer<XML> {
                     } catch (XPathExpressionException e) {
                         // continue
                     }
-                    result.addIfAbsent(node);
+                    result.add(node);
                 }
             }
         }
-        return new XML(doc, result);
+        return new XML(doc, unique(result));
     }
 
     /**
@@ -862,13 +878,19 @@ public class XML implements Iterable<XML>, Consumer<XML> {
      */
     public XML find(String selector) {
         XPathExpression xpath = compile(selector, "descendant::");
-        CopyOnWriteArrayList<Node> result = new CopyOnWriteArrayList();
 
         try {
+            // XPath evaluation returns the unique node set for each context node, so only the
+            // results from multiple context nodes need to be merged.
+            if (nodes.size() == 1) {
+                return new XML(doc, convert((NodeList) xpath.evaluate(nodes.get(0), XPathConstants.NODESET)));
+            }
+
+            List<Node> result = new ArrayList();
             for (Node node : nodes) {
-                result.addAllAbsent(convert((NodeList) xpath.evaluate(node, XPathConstants.NODESET)));
+                result.addAll(convert((NodeList) xpath.evaluate(node, XPathConstants.NODESET)));
             }
-            return new XML(doc, result);
+            return new XML(doc, unique(result));
         } catch (XPathExpressionException e) {
             throw I.quiet(e);
         }
@@ -919,6 +941,142 @@ public class XML implements Iterable<XML>, Consumer<XML> {
         return elements.iterator();
     }
 
+    /**
+     * Data mapping from the first element in the current set to the specified model.
+     * <p>
+     * The properties are resolved by the same {@link Model} metadata as {@link JSON}. The atomic
+     * property is read from the attribute or the child element with the same name, the nested
+     * model is read from the child element, and the {@link List} property is read from all child
+     * elements with the same name.
+     * </p>
+     * 
+     * @param type A model type.
+     * @return A created model, or {@code null} if the set is empty.
+     */
+    public <M> M as(Class<M> type) {
+        return nodes.isEmpty() ? null : as(Model.of(type), nodes.get(0));
+    }
+
+    /**
+     * Helper method to convert the element to java object.
+     * 
+     * @param model A java object model.
+     * @param node A current node.
+     * @return A restored java object.
+     */
+    private static <M> M as(Model<M> model, Node node) {
+        String text = node.getTextContent();
+        if (model.atomic) return model.type == String.class ? (M) text : model.decoder.decode(text);
+
+        M java = I.make(model.type);
+
+        NamedNodeMap attrs = node.getAttributes();
+        for (int i = 0; i < attrs.getLength(); i++) {
+            Attr attr = (Attr) attrs.item(i);
+            java = as(model, java, attr.getName(), attr);
+        }
+
+        for (Node child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child.getNodeType() == Node.ELEMENT_NODE) {
+                java = as(model, java, ((Element) child).getTagName(), child);
+            }
+        }
+        return java;
+    }
+
+    /**
+     * Helper method to assign the node value to the property with the specified name.
+     * 
+     * @param model A java object model.
+     * @param java A java object.
+     * @param name A property name.
+     * @param node A property value node.
+     * @return A modified java object.
+     */
+    private static <M> M as(Model<M> model, M java, String name, Node node) {
+        Property p = model.property(name);
+
+        // attribute can hold only the atomic value
+        if (p == null || p.transitory || !p.model.atomic && node.getNodeType() == Node.ATTRIBUTE_NODE) {
+            return java;
+        }
+
+        Object value;
+        if (p.model instanceof ListModel list) {
+            List items = (List) model.get(java, p);
+            if (items == null) items = (List) I.make(p.model.type);
+            items.add(as(list.item, node));
+            value = items;
+        } else {
+            value = as(p.model, node);
+        }
+        return model.set(java, p, value);
+    }
+
+    /**
+     * Write the properties of the specified model into each element in the current set.
+     * <p>
+     * The properties are resolved by the same {@link Model} metadata as {@link JSON}. The atomic
+     * property is written as the attribute, the nested model is written as the child element, and
+     * each item of the {@link List} property is written as the child element with the property
+     * name. The {@code null} and transient properties are not written.
+     * </p>
+     * 
+     * @param model A model to write.
+     * @return Chainable API.
+     */
+    public XML write(Object model) {
+        if (model != null) {
+            Model m = Model.of(model);
+            for (Node node : nodes) {
+                write(m, model, (Element) node, 0);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Helper method to write the java object into the element.
+     * 
+     * @param model A java object model.
+     * @param java A java object.
+     * @param element A current element.
+     * @param depth A current depth to detect the cyclic object graph.
+     */
+    private void write(Model<Object> model, Object java, Element element, int depth) {
+        if (64 < depth) throw new ClassCircularityError();
+
+        model.walk(java, (m, p, value) -> {
+            if (value != null && !p.transitory) {
+                if (p.model.atomic) {
+                    element.setAttribute(p.name, I.transform(value, String.class));
+                } else if (p.model instanceof ListModel list) {
+                    for (Object item : (List) value) {
+                        if (item != null) item(list.item, item, element.appendChild(doc.createElementNS(null, p.name)), depth);
+                    }
+                } else {
+                    write(p.model, value, (Element) element.appendChild(doc.createElementNS(null, p.name)), depth + 1);
+                }
+            }
+        });
+    }
+
+    /**
+     * Helper method to write the list item into the element.
+     * 
+     * @param model An item model.
+     * @param item An item value.
+     * @param element A current element.
+     * @param depth A current depth to detect the cyclic object graph.
+     */
+    private void item(Model model, Object item, Node element, int depth) {
+        if (model.atomic) {
+            element.setTextContent(I.transform(item, String.class));
+        } else {
+            write(model, item, (Element) element, depth + 1);
+        }
+    }
+
     /**
      * Convert the first element in the current set to its underlying {@link Node} representation.
      *
@@ -958,74 +1116,139 @@ public class XML implements Iterable<XML>, Consumer<XML> {
      *            tag and end tag.
      */
     public void to(Appendable output, String indent, String... inlineAndNonEmpty) {
-        for (Node node : nodes) {
-            to(node, output, indent, 0, false, Set.of(inlineAndNonEmpty));
+        try {
+            to(output, indent, Set.of(inlineAndNonEmpty));
+        } catch (Exception e) {
+            throw I.quiet(e);
+        } finally {
+            I.quiet(output);
         }
-        I.quiet(output);
     }
 
     /**
-     * Serialize DOM with your pretty format.
+     * <p>
+     * Write this element to the specified output as UTF-8 bytes with your format settings.
+     * </p>
+     * <p>
+     * Unlike writing through {@link java.io.Writer}, characters are encoded directly into the
+     * reusable byte buffer, so no intermediate string is created for each node.
+     * </p>
+     * 
+     * @param output An output channel.
+     * @param indent Specify the indentation string to use when formatting. If null is specified,
+     *            formatting will not be performed.
+     * @param inlineAndNonEmpty At the time of formatting, the element with the specified name is
+     *            regarded as an inline element, and line breaks and indentation are not performed
+     *            on the surrounding elements. Also, if an element whose name starts with "&amp;" is
+     *            specified, it will not be treated as an empty element and will always have a start
+     *            tag and end tag.
+     */
+    public void to(OutputStream output, String indent, String... inlineAndNonEmpty) {
+        Utf8 writer = Utf8.open(output);
+
+        try {
+            to(writer, indent, Set.of(inlineAndNonEmpty));
+            writer.close();
+        } catch (Exception e) {
+            throw I.quiet(e);
+        } finally {
+            I.quiet(output);
+        }
+    }
+
+    /**
+     * Serialize all matched nodes with your pretty format.
      * 
-     * @param node A target {@link Node} to serialize.
      * @param output An output channel.
      * @param indent Specify the indentation string to use when formatting. If null is specified,
      *            formatting will not be performed.
-     * @param level A current indent level.
-     * @param block Indicates whether the previous element is a block element.
      * @param inlines At the time of formatting, the element with the specified name is regarded as
      *            an inline element, and line breaks and indentation are not performed on the
      *            surrounding elements. Also, if an element whose name starts with "&" is specified,
      *            it will not be treated as an empty element and will always have a start tag and
      *            end tag.
-     * @return Indicates whether the current element is a block element.
      */
-    private boolean to(Node node, Appendable output, String indent, int level, boolean block, Set<String> inlines) {
-        try {
-            if (node.getNodeType() != Node.ELEMENT_NODE) {
-                String text = node.getTextContent();
-                if (!text.isBlank()) {
-                    output.append(escape(text));
-                    return false;
-                } else {
-                    return block;
-                }
-            }
+    private void to(Appendable output, String indent, Set<String> inlines) throws IOException {
+        for (Node root : nodes) {
+            Node node = root;
+            int level = 0;
 
-            String name = ((Element) node).getTagName();
-            boolean isBlock = !inlines.contains(name);
+            // Indicates whether the last serialized node is a block element.
+            boolean block = false;
 
-            if (block && isBlock) {
-                if (indent != null) output.append("\r\n").append(indent.repeat(level));
-            }
-            output.append('<').append(name);
+            // Walk the tree in document order without recursion, so deeply nested documents can't
+            // overflow the stack.
+            while (true) {
+                // The root node is regarded as the first node in inline context.
+                boolean context = node != root && !inlines.contains(((Element) node.getParentNode()).getTagName());
 
-            NamedNodeMap attrs = node.getAttributes();
-            for (int i = 0; i < attrs.getLength(); i++) {
-                Attr attr = (Attr) attrs.item(i);
-                output.append(' ').append(attr.getName()).append("=\"").append(escape(attr.getValue())).append('"');
-            }
+                if (node.getNodeType() != Node.ELEMENT_NODE) {
+                    String text = node.getTextContent();
+                    if (text.isBlank()) {
+                        block = context;
+                    } else {
+                        escape(text, output);
+                        block = false;
+                    }
+                } else {
+                    String name = ((Element) node).getTagName();
+                    block = !inlines.contains(name);
+
+                    if (context && block) indent(output, indent, level);
+                    output.append('<').append(name);
+
+                    NamedNodeMap attrs = node.getAttributes();
+                    for (int i = 0; i < attrs.getLength(); i++) {
+                        Attr attr = (Attr) attrs.item(i);
+                        output.append(' ').append(attr.getName()).append("=\"");
+                        escape(attr.getValue(), output);
+                        output.append('"');
+                    }
 
-            NodeList children = node.getChildNodes();
+                    Node child = node.getFirstChild();
+                    if (child != null) {
+                        // step into the children
+                        output.append('>');
+                        node = child;
+                        level++;
+                        continue;
+                    } else if (inlines.contains("&".concat(name))) {
+                        output.append("></").append(name).append('>');
+                    } else {
+                        output.append("/>");
+                    }
+                }
 
-            if (children.getLength() == 0 && !inlines.contains("&".concat(name))) {
-                output.append("/>");
-            } else {
-                output.append('>');
-                int s = children.getLength();
+                // step out of the completed elements
+                while (node != root && node.getNextSibling() == null) {
+                    node = node.getParentNode();
+                    level--;
 
-                for (int i = 0; i < s; i++) {
-                    block = to(children.item(i), output, indent, level + 1, isBlock, inlines);
+                    String name = ((Element) node).getTagName();
+                    if (block) indent(output, indent, level);
+                    output.append("</").append(name).append('>');
+                    block = !inlines.contains(name);
                 }
 
-                if (block && indent != null && s != 0) {
-                    output.append("\r\n").append(indent.repeat(level));
-                }
-                output.append("</").append(name).append('>');
+                if (node == root) break;
+                node = node.getNextSibling();
+            }
+        }
+    }
+
+    /**
+     * Write line break and indentation.
+     * 
+     * @param output An output channel.
+     * @param indent An indentation string, null will not perform formatting.
+     * @param level A current indent level.
+     */
+    private static void indent(Appendable output, String indent, int level) throws IOException {
+        if (indent != null) {
+            output.append("\r\n");
+            for (int i = 0; i < level; i++) {
+                output.append(indent);
             }
-            return isBlock;
-        } catch (Exception e) {
-            throw I.quiet(e);
         }
     }
 
@@ -1048,48 +1271,67 @@ public class XML implements Iterable<XML>, Consumer<XML> {
             return "";
         }
 
-        // Use regex matcher to find XML special characters or existing entities
-        Matcher matcher = ESCAPE.matcher(input);
-        StringBuilder builder = new StringBuilder();
-        int pos = 0;
+        try {
+            StringBuilder builder = new StringBuilder(input.length() + 16);
+            escape(input, builder);
 
-        while (matcher.find()) {
-            // Append the segment before the current match
-            builder.append(input, pos, matcher.start());
+            // Every replacement makes text longer, so the same length means nothing was escaped.
+            return builder.length() == input.length() ? input : builder.toString();
+        } catch (IOException e) {
+            throw I.quiet(e);
+        }
+    }
 
-            // Group 2 matches unescaped special characters (e.g., &, <, >, etc.)
-            String match = matcher.group(2);
-            if (match != null) {
-                switch (match.charAt(0)) {
-                case '&':
-                    builder.append("&amp;");
-                    break;
-                case '<':
-                    builder.append("&lt;");
-                    break;
-                case '>':
-                    builder.append("&gt;");
-                    break;
-                case '"':
-                    builder.append("&quot;");
-                    break;
-                case '\'':
-                    builder.append("&apos;");
-                    break;
-                }
-            } else {
-                // Group 1 matched an already escaped entity — preserve it
-                builder.append(matcher.group(0));
-            }
+    /**
+     * Escape XML special characters in an idempotent way and write it to the specified output.
+     * The unescaped runs are written in bulk.
+     * 
+     * @param text The input text to escape.
+     * @param output An output channel.
+     */
+    private static void escape(String text, Appendable output) throws IOException {
+        int start = 0;
+        int length = text.length();
 
-            // Update position to end of current match
-            pos = matcher.end();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+
+            if (c < ENTITIES.length && ENTITIES[c] != null && (c != '&' || !entity(text, i + 1))) {
+                output.append(text, start, i).append(ENTITIES[c]);
+                start = i + 1;
+            }
         }
+        output.append(text, start, length);
+    }
 
-        // Append remaining content after the last match
-        builder.append(input, pos, input.length());
+    /**
+     * Check whether the specified position (next to '&amp;') starts the predefined or numeric
+     * entity reference.
+     * 
+     * @param text The input text.
+     * @param pos The start position of entity name.
+     * @return Result.
+     */
+    private static boolean entity(String text, int pos) {
+        int radix = 10;
+
+        if (text.startsWith("#x", pos)) {
+            radix = 16;
+            pos += 2;
+        } else if (text.startsWith("#", pos)) {
+            pos += 1;
+        } else {
+            // predefined entities
+            return text.startsWith("amp;", pos) || text.startsWith("lt;", pos) || text.startsWith("gt;", pos) || text
+                    .startsWith("quot;", pos) || text.startsWith("apos;", pos);
+        }
 
-        return builder.toString();
+        // numeric entities
+        int start = pos;
+        while (pos < text.length() && text.charAt(pos) < 128 && Character.digit(text.charAt(pos), radix) != -1) {
+            pos++;
+        }
+        return start < pos && text.startsWith(";", pos);
     }
 
     /**
@@ -1136,26 +1378,125 @@ public class XML implements Iterable<XML>, Consumer<XML> {
 
     /**
      * Helper method to convert a {@link NodeList} into a {@code List<Node>},
-     * filtering for {@code ELEMENT_NODE}s and ensuring uniqueness if added to
-     * a list that checks for absence (like {@code CopyOnWriteArrayList.addIfAbsent}).
+     * filtering for {@code ELEMENT_NODE}s. A {@link NodeList} never contains the same node twice,
+     * so no duplication check is required.
      *
      * @param list A {@link NodeList} to convert.
-     * @return A {@code List<Node>} containing only unique element nodes from the input list.
-     *         The list returned is a {@code CopyOnWriteArrayList}.
+     * @return A {@code List<Node>} containing only element nodes from the input list.
      */
     static List<Node> convert(NodeList list) {
-        CopyOnWriteArrayList<Node> nodes = new CopyOnWriteArrayList();
+        int size = list.getLength();
+        List<Node> nodes = new ArrayList(size);
 
-        for (int i = 0; i < list.getLength(); i++) {
+        for (int i = 0; i < size; i++) {
             Node node = list.item(i);
 
             if (node.getNodeType() == Node.ELEMENT_NODE) {
-                nodes.addIfAbsent(node);
+                nodes.add(node);
             }
         }
         return nodes;
     }
 
+    /**
+     * Helper method to remove the duplicated nodes by identity in a single pass. The order of the
+     * first occurrence is kept, so the node set built from the context nodes in document order is
+     * kept in document order too.
+     * 
+     * @param nodes A node list to deduplicate in place.
+     * @return The specified list.
+     */
+    private static List<Node> unique(List<Node> nodes) {
+        if (1 < nodes.size()) {
+            Set<Node> set = Collections.newSetFromMap(new IdentityHashMap(nodes.size() * 2));
+            nodes.removeIf(node -> !set.add(node));
+        }
+        return nodes;
+    }
+
+    /**
+     * Read the XML stream and emit each element with the specified name as a detached XML
+     * fragment. Only the element being read is held in memory, so the memory usage doesn't depend
+     * on the size of the whole input.
+     * 
+     * @param input A supplier of the XML input stream, it will be closed at the end of reading.
+     * @param name A qualified name of the element to emit.
+     * @return A {@link Signal} which emits the matched elements in document order.
+     */
+    static Signal<XML> stream(WiseSupplier<InputStream> input, String name) {
+        return new Signal<>((observer, disposer) -> {
+            InputStream in = null;
+
+            try {
+                in = input.get();
+                XMLStreamReader reader = STAX.createXMLStreamReader(in);
+                Document doc = null;
+                Node current = null;
+
+                while (reader.hasNext() && !disposer.isDisposed()) {
+                    switch (reader.next()) {
+                    case XMLStreamConstants.START_ELEMENT:
+                        String qname = qname(reader.getPrefix(), reader.getLocalName());
+                        if (current == null) {
+                            // skip until the target element
+                            if (!qname.equals(name)) break;
+                            current = doc = I.dom.newDocument();
+                        }
+
+                        Element e = doc.createElementNS(reader.getNamespaceURI(), qname);
+                        for (int i = 0; i < reader.getNamespaceCount(); i++) {
+                            String prefix = reader.getNamespacePrefix(i);
+                            e.setAttributeNS(XMLNS_ATTRIBUTE_NS_URI, prefix == null || prefix.isEmpty() ? XMLNS_ATTRIBUTE
+                                    : XMLNS_ATTRIBUTE + ":" + prefix, reader.getNamespaceURI(i));
+                        }
+                        for (int i = 0; i < reader.getAttributeCount(); i++) {
+                            e.setAttributeNS(reader.getAttributeNamespace(i), qname(reader.getAttributePrefix(i), reader
+                                    .getAttributeLocalName(i)), reader.getAttributeValue(i));
+                        }
+                        current = current.appendChild(e);
+                        break;
+
+                    case XMLStreamConstants.CHARACTERS:
+                    case XMLStreamConstants.CDATA:
+                    case XMLStreamConstants.SPACE:
+                        if (current != null) current.appendChild(doc.createTextNode(reader.getText()));
+                        break;
+
+                    case XMLStreamConstants.END_ELEMENT:
+                        if (current != null) {
+                            current = current.getParentNode();
+
+                            // the target element is completed
+                            if (current == doc) {
+                                current = null;
+                                observer.accept(new XML(doc, I.list(doc.getDocumentElement())));
+                            }
+                        }
+                        break;
+                    }
+                }
+                reader.close();
+                observer.complete();
+            } catch (Throwable e) {
+                observer.error(e);
+            } finally {
+                I.quiet(in);
+            }
+            return disposer;
+        });
+    }
+
+    /**
+     * Build the qualified name.
+     * 
+     * @param prefix A namespace prefix.
+     * @param local A local name.
+     * @return A qualified name.
+     */
+    private static String qname(String prefix, String local) {
+        return prefix == null || prefix.isEmpty() ? local : prefix + ":" + local;
+    }
+
     /**
      * Compile and cache the specified selector.
      *
@@ -1480,6 +1821,9 @@ public class XML implements Iterable<XML>, Consumer<XML> {
     /** The defined data elements. */
     private static final String[] data = {"noframes", "script", "style", "textarea", "title"};
 
+    /** The number of leading bytes examined by the encoding sniffer. */
+    private static final int SNIFF = 1024;
+
     /** The position for something. */
     private int pos;
 
@@ -1491,27 +1835,38 @@ public class XML implements Iterable<XML>, Consumer<XML> {
      * and builds the DOM structure represented by this {@code XML} object.
      * <p>
      * This method contains a lenient HTML parser that attempts to handle common
-     * HTML structures, including character encoding detection via {@code <meta>} tags.
-     * If a different encoding is detected, parsing may be restarted with the new encoding.
+     * HTML structures, including character encoding detection via BOM and {@code <meta>} tags.
+     * The encoding is sniffed from the raw bytes before decoding, so the document is decoded
+     * only once.
      * </p>
      *
      * @param raw The raw byte array of the HTML data.
-     * @param encoding The initial character encoding to use for parsing.
+     * @param encoding The default character encoding to use for parsing.
      * @return This {@code XML} object, now representing the parsed HTML structure.
-     *         If re-parsing occurs due to encoding detection, a new parse cycle is initiated.
      */
     XML parse(byte[] raw, Charset encoding) {
         // ====================
         // Initialization
         // ====================
         XML xml = this;
-        html = new String(raw, encoding);
+        int bom = 0;
+
+        // BOM has priority over any encoding declaration
+        if (2 < raw.length && raw[0] == (byte) 0xEF && raw[1] == (byte) 0xBB && raw[2] == (byte) 0xBF) {
+            encoding = StandardCharsets.UTF_8;
+            bom = 3;
+        } else if (1 < raw.length && raw[0] == (byte) 0xFE && raw[1] == (byte) 0xFF) {
+            encoding = StandardCharsets.UTF_16BE;
+            bom = 2;
+        } else if (1 < raw.length && raw[0] == (byte) 0xFF && raw[1] == (byte) 0xFE) {
+            encoding = StandardCharsets.UTF_16LE;
+            bom = 2;
+        } else {
+            encoding = sniff(raw, encoding);
+        }
+        html = new String(raw, bom, raw.length - bom, encoding);
         pos = 0;
 
-        // If crazy html provides multiple meta element for character encoding,
-        // we should adopt first one.
-        boolean detectable = true;
-
         // ====================
         // Start Parsing
         // ====================
@@ -1617,31 +1972,6 @@ public class XML implements Iterable<XML>, Consumer<XML> {
                     }
                 } else {
                     // empty element
-
-                    // check encoding in meta element
-                    if (detectable && name.equals("meta")) {
-                        String value = child.attr("charset");
-
-                        if (value.length() == 0 && child.attr("http-equiv").equalsIgnoreCase("content-type")) {
-                            value = child.attr("content");
-                        }
-
-                        if (value.length() != 0) {
-                            detectable = false;
-
-                            try {
-                                int index = value.lastIndexOf('=');
-                                Charset detect = Charset.forName(index == -1 ? value : value.substring(index + 1));
-
-                                if (!encoding.equals(detect)) {
-                                    // reset and parse again if the current encoding is wrong
-                                    return parse(raw, detect);
-                                }
-                            } catch (Exception e) {
-                                // unknown encoding name
-                            }
-                        }
-                    }
                     // don't update current element
                 }
             } else {
@@ -1668,6 +1998,150 @@ public class XML implements Iterable<XML>, Consumer<XML> {
         return this;
     }
 
+    /**
+     * Helper method for the HTML parser. Detects the character encoding declared by the first
+     * {@code <meta>} element (charset or http-equiv) without decoding the document. The raw bytes
+     * are tokenized directly, which is valid for every ASCII-compatible encoding because the markup
+     * characters have the same byte values in all of them.
+     * <p>
+     * Like the prescan of the HTML specification, only the first {@link #SNIFF} bytes are
+     * examined, and the contents of comments and raw text elements ({@code <script>} and
+     * {@code <style>}) are skipped.
+     *
+     * @param raw The raw byte array of the HTML data.
+     * @param encoding The default character encoding.
+     * @return The declared character encoding, or the default one if it is not declared or unknown.
+     */
+    private static Charset sniff(byte[] raw, Charset encoding) {
+        int length = Math.min(raw.length, SNIFF);
+
+        for (int i = 0; i < length; i++) {
+            if (raw[i] != '<') continue;
+
+            if (match(raw, i + 1, "!--")) {
+                // skip comment
+                while (i < length && !match(raw, i, "-->")) {
+                    i++;
+                }
+            } else if (raw(raw, i + 1, "script") || raw(raw, i + 1, "style")) {
+                // skip raw text
+                String end = raw[i + 2] == 'c' || raw[i + 2] == 'C' ? "</script" : "</style";
+                while (i < length && !match(raw, i, end)) {
+                    i++;
+                }
+            } else if (match(raw, i + 1, "meta") && i + 5 < length && (raw[i + 5] <= ' ' || raw[i + 5] == '/')) {
+                String charset = "", equiv = "", content = "";
+                int p = i + 5;
+
+                // parse attributes
+                while (p < length && raw[p] != '>') {
+                    if (raw[p] <= ' ' || raw[p] == '/') {
+                        p++;
+                        continue;
+                    }
+
+                    int s = p;
+                    while (p < length && raw[p] > ' ' && raw[p] != '=' && raw[p] != '>' && raw[p] != '/') {
+                        p++;
+                    }
+                    String name = new String(raw, s, p - s, StandardCharsets.ISO_8859_1).toLowerCase();
+
+                    while (p < length && raw[p] <= ' ') {
+                        p++;
+                    }
+
+                    String value = name;
+                    if (p < length && raw[p] == '=') {
+                        p++;
+                        while (p < length && raw[p] <= ' ') {
+                            p++;
+                        }
+
+                        if (p < length && (raw[p] == '"' || raw[p] == '\'')) {
+                            byte quote = raw[p++];
+                            s = p;
+                            while (p < length && raw[p] != quote) {
+                                p++;
+                            }
+                            value = new String(raw, s, p - s, StandardCharsets.ISO_8859_1);
+                            p++;
+                        } else {
+                            s = p;
+                            while (p < length && raw[p] > ' ' && raw[p] != '>') {
+                                p++;
+                            }
+                            if (raw[p - 1] == '/') p--;
+                            value = new String(raw, s, p - s, StandardCharsets.ISO_8859_1);
+                        }
+                    }
+
+                    switch (name) {
+                    case "charset" -> charset = value;
+                    case "http-equiv" -> equiv = value;
+                    case "content" -> content = value;
+                    }
+                }
+
+                if (charset.length() == 0 && equiv.equalsIgnoreCase("content-type")) {
+                    charset = content;
+                }
+
+                // If crazy html provides multiple meta element for character encoding,
+                // we should adopt first one.
+                if (charset.length() != 0) {
+                    try {
+                        int index = charset.lastIndexOf('=');
+                        return Charset.forName(index == -1 ? charset : charset.substring(index + 1));
+                    } catch (Exception e) {
+                        // unknown encoding name
+                        return encoding;
+                    }
+                }
+                i = p;
+            }
+        }
+        return encoding;
+    }
+
+    /**
+     * Helper method for the encoding sniffer. Checks if the raw bytes at the specified position
+     * start with the given element name.
+     *
+     * @param raw The raw byte array.
+     * @param pos The position to test.
+     * @param name The lower-case element name to test for.
+     * @return {@code true} if a match is found.
+     */
+    private static boolean raw(byte[] raw, int pos, String name) {
+        int next = pos + name.length();
+        return match(raw, pos, name) && next < raw.length && (raw[next] <= ' ' || raw[next] == '>' || raw[next] == '/');
+    }
+
+    /**
+     * Helper method for the encoding sniffer. Checks if the raw bytes at the specified position
+     * start with the given ASCII sequence (case-insensitive).
+     *
+     * @param raw The raw byte array.
+     * @param pos The position to test.
+     * @param sequence The lower-case ASCII sequence to test for.
+     * @return {@code true} if a match is found.
+     */
+    private static boolean match(byte[] raw, int pos, String sequence) {
+        if (raw.length < pos + sequence.length()) {
+            return false;
+        }
+
+        for (int i = 0; i < sequence.length(); i++) {
+            int b = raw[pos + i];
+            char c = sequence.charAt(i);
+
+            if (b != c && (c < 'a' || 'z' < c || b != c - 32)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Helper method for the HTML parser. Checks if the HTML string at the current
      * parsing position ({@link #pos}) starts with the given {@code sequence}.
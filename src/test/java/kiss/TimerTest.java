@@ -0,0 +1,198 @@
+/*
+ * Copyright (C) 2024 The SINOBU Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package kiss;
+
+import static java.util.concurrent.TimeUnit.*;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class TimerTest {
+
+    @Test
+    void schedule() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        Timer timer = new Timer(latch::countDown);
+
+        long start = System.nanoTime();
+        timer.schedule(30, MILLISECONDS);
+
+        assert latch.await(3, SECONDS);
+        assert MILLISECONDS.toNanos(30) <= System.nanoTime() - start;
+    }
+
+    @Test
+    void extend() throws Exception {
+        AtomicInteger count = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(1);
+        Timer timer = new Timer(() -> {
+            count.incrementAndGet();
+            latch.countDown();
+        });
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 10; i++) {
+            timer.schedule(50, MILLISECONDS);
+            Thread.sleep(10);
+        }
+
+        assert latch.await(3, SECONDS);
+        assert MILLISECONDS.toNanos(140) <= System.nanoTime() - start;
+        Thread.sleep(100);
+        assert count.get() == 1;
+    }
+
+    @Test
+    void shorten() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        Timer timer = new Timer(latch::countDown);
+
+        long start = System.nanoTime();
+        timer.schedule(10, SECONDS);
+        timer.schedule(20, MILLISECONDS);
+
+        assert latch.await(3, SECONDS);
+        assert System.nanoTime() - start < SECONDS.toNanos(3);
+    }
+
+    @Test
+    void beyondOneRound() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        Timer timer = new Timer(latch::countDown);
+
+        long start = System.nanoTime();
+        timer.schedule(700, MILLISECONDS);
+
+        assert latch.await(3, SECONDS);
+        assert MILLISECONDS.toNanos(700) <= System.nanoTime() - start;
+    }
+
+    @Test
+    void cancel() throws Exception {
+        AtomicInteger count = new AtomicInteger();
+        Timer timer = new Timer(count::incrementAndGet);
+
+        timer.schedule(20, MILLISECONDS);
+        timer.dispose();
+
+        Thread.sleep(100);
+        assert count.get() == 0;
+    }
+
+    @Test
+    void reuse() throws Exception {
+        AtomicInteger count = new AtomicInteger();
+        Timer timer = new Timer(count::incrementAndGet);
+
+        timer.schedule(5, MILLISECONDS);
+        Thread.sleep(100);
+        timer.schedule(5, MILLISECONDS);
+        Thread.sleep(100);
+        assert count.get() == 2;
+    }
+
+    @Test
+    void manyTimers() throws Exception {
+        CountDownLatch latch = new CountDownLatch(10000);
+        for (int i = 0; i < 10000; i++) {
+            new Timer(latch::countDown).schedule(i % 100, MILLISECONDS);
+        }
+        assert latch.await(5, SECONDS);
+    }
+
+    @Test
+    void debounceOnColdStart() throws Exception {
+        assert cold("debounce");
+    }
+
+    @Test
+    void timeoutOnColdStart() throws Exception {
+        assert cold("timeout");
+    }
+
+    @Test
+    void throttleOnColdStart() throws Exception {
+        assert cold("throttle");
+    }
+
+    /**
+     * Run the specified scenario of {@link Cold} in the fresh JVM.
+     * 
+     * @param scenario A name of scenario.
+     * @return The scenario is passed or not.
+     */
+    private boolean cold(String scenario) throws Exception {
+        Process process = new ProcessBuilder(Path.of(System.getProperty("java.home"), "bin", "java")
+                .toString(), "-cp", System.getProperty("java.class.path"), Cold.class.getName(), scenario).inheritIO().start();
+
+        if (!process.waitFor(30, SECONDS)) {
+            process.destroyForcibly();
+            return false;
+        }
+        return process.exitValue() == 0;
+    }
+
+    /**
+     * The operators on the timing wheel are used before anything else initializes {@link I}.
+     */
+    static class Cold {
+
+        public static void main(String[] args) throws Exception {
+            Signaling<Integer> signaling = new Signaling();
+            List<Object> events = new CopyOnWriteArrayList();
+            CountDownLatch latch = new CountDownLatch(1);
+            long start = System.nanoTime();
+
+            switch (args[0]) {
+            case "debounce":
+                signaling.expose.debounce(20, MILLISECONDS).to(v -> {
+                    events.add(v);
+                    latch.countDown();
+                });
+                signaling.accept(1);
+                break;
+
+            case "timeout":
+                signaling.expose.timeout(20, MILLISECONDS).to(events::add, e -> {
+                    events.add(e);
+                    latch.countDown();
+                });
+                break;
+
+            case "throttle":
+                signaling.expose.throttle(20, MILLISECONDS).to(v -> {
+                    events.add(v);
+                    latch.countDown();
+                });
+                signaling.accept(1);
+                break;
+            }
+
+            boolean emitted = latch.await(200, MILLISECONDS);
+            long elapsed = System.nanoTime() - start;
+
+            // the values after the timeout error must be ignored
+            for (int i = 2; i < 5; i++) {
+                signaling.accept(i);
+            }
+
+            if (!emitted || events.size() != 1) {
+                System.err.println(args[0] + " on cold start emits " + events + " in " + NANOSECONDS.toMillis(elapsed) + "ms");
+                System.exit(1);
+            }
+            System.exit(0);
+        }
+    }
+}
\ No newline at end of file
@@ -247,11 +247,11 @@ class VariableTest {
         Variable<String> start = Variable.of("test");
         Variable<String> end = start.observe().take(1).to();
         assert end.isAbsent();
-        assert start.signaling.observers.size() == 1;
+        assert start.signaling.size == 1;
 
         start.set("first");
         assert end.is("first");
-        assert start.signaling.observers.size() == 0;
+        assert start.signaling.size == 0;
 
         start.set("second");
         assert end.is("first");
@@ -0,0 +1,339 @@
+/*
+ * Copyright (C) 2024 The SINOBU Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package kiss.signal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import kiss.Disposable;
+import kiss.I;
+import kiss.Observer;
+import kiss.Signaling;
+
+class BackpressureTest {
+
+    /**
+     * Observer which records all events.
+     */
+    private static class Log<V> implements Observer<V> {
+
+        private final List<V> values = new ArrayList();
+
+        private Throwable error;
+
+        private boolean completed;
+
+        @Override
+        public void accept(V value) {
+            values.add(value);
+        }
+
+        @Override
+        public void error(Throwable e) {
+            error = e;
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        private boolean value(V... expected) {
+            return values.equals(Arrays.asList(expected));
+        }
+    }
+
+    @Test
+    void request() {
+        Log<Integer> log = new Log();
+        Disposable disposable = I.signal(1, 2, 3, 4, 5).to(log, 2);
+        assert log.value(1, 2);
+        assert log.completed == false;
+
+        disposable.request(2);
+        assert log.value(1, 2, 3, 4);
+        assert log.completed == false;
+
+        disposable.request(10);
+        assert log.value(1, 2, 3, 4, 5);
+        assert log.completed;
+    }
+
+    @Test
+    void requestZero() {
+        Log<Integer> log = new Log();
+        Disposable disposable = I.signal(1, 2, 3).to(log, 0);
+        assert log.value();
+
+        disposable.request(0);
+        assert log.value();
+
+        disposable.request(-1);
+        assert log.value();
+
+        disposable.request(Long.MAX_VALUE);
+        disposable.request(Long.MAX_VALUE);
+        assert log.value(1, 2, 3);
+        assert log.completed;
+    }
+
+    @Test
+    void unbounded() {
+        Log<Integer> log = new Log();
+        I.signal(1, 2, 3).to(log);
+        assert log.value(1, 2, 3);
+        assert log.completed;
+    }
+
+    @Test
+    void dispose() {
+        Log<Integer> log = new Log();
+        Disposable disposable = I.signal(1, 2, 3).to(log, 1);
+        assert log.value(1);
+
+        disposable.dispose();
+        disposable.request(10);
+        assert log.value(1);
+        assert log.completed == false;
+    }
+
+    @Test
+    void map() {
+        Log<Integer> log = new Log();
+        Disposable disposable = I.signal(1, 2, 3).map(v -> v * 10).to(log, 1);
+        assert log.value(10);
+
+        disposable.request(1);
+        assert log.value(10, 20);
+    }
+
+    @Test
+    void take() {
+        Log<Integer> log = new Log();
+        Disposable disposable = I.signal(1, 2, 3, 4, 5, 6).take(v -> v % 2 == 0).to(log, 2);
+        assert log.value(2, 4);
+
+        disposable.request(1);
+        assert log.value(2, 4, 6);
+        assert log.completed;
+    }
+
+    @Test
+    void skip() {
+        Log<Integer> log = new Log();
+        Disposable disposable = I.signal(1, 2, 3, 4).skip(2).to(log, 1);
+        assert log.value(3);
+
+        disposable.request(1);
+        assert log.value(3, 4);
+        assert log.completed;
+    }
+
+    @Test
+    void merge() {
+        Log<Integer> log = new Log();
+        Disposable disposable = I.signal(1, 2, 3).merge(I.signal(4, 5, 6)).to(log, 4);
+        assert log.value(1, 2, 3, 4);
+        assert log.completed == false;
+
+        disposable.request(10);
+        assert log.value(1, 2, 3, 4, 5, 6);
+        assert log.completed;
+    }
+
+    @Test
+    void flatMap() {
+        Log<Integer> log = new Log();
+        Disposable disposable = I.signal(1, 2).flatMap(v -> I.signal(v * 10, v * 10 + 1)).to(log, 3);
+        assert log.value(10, 11, 20);
+        assert log.completed == false;
+
+        disposable.request(1);
+        assert log.value(10, 11, 20, 21);
+        assert log.completed;
+    }
+
+    @Test
+    void buffer() {
+        Log<List<Integer>> log = new Log();
+        Disposable disposable = I.signal(1, 2, 3, 4, 5, 6, 7).buffer(2).to(log, 2);
+        assert log.value(List.of(1, 2), List.of(3, 4));
+
+        disposable.request(1);
+        assert log.value(List.of(1, 2), List.of(3, 4), List.of(5, 6));
+    }
+
+    @Test
+    void bufferSliding() {
+        Log<List<Integer>> log = new Log();
+        Disposable disposable = I.signal(1, 2, 3, 4, 5).buffer(2, 1).to(log, 2);
+        assert log.value(List.of(1, 2), List.of(2, 3));
+
+        disposable.request(10);
+        assert log.value(List.of(1, 2), List.of(2, 3), List.of(3, 4), List.of(4, 5));
+        assert log.completed;
+    }
+
+    @Test
+    void bufferAll() {
+        Log<List<Integer>> log = new Log();
+        I.signal(1, 2, 3, 4, 5).buffer().to(log, 1);
+        assert log.value(List.of(1, 2, 3, 4, 5));
+        assert log.completed;
+    }
+
+    @Test
+    void last() {
+        Log<Integer> log = new Log();
+        I.signal(1, 2, 3, 4, 5).last().to(log, 1);
+        assert log.value(5);
+        assert log.completed;
+    }
+
+    @Test
+    void scanLast() {
+        Log<Integer> log = new Log();
+        I.signal(1, 2, 3, 4, 5).scan(() -> 0, (sum, v) -> sum + v).last().to(log, 1);
+        assert log.value(15);
+        assert log.completed;
+    }
+
+    @Test
+    void skipWhile() {
+        Log<Integer> log = new Log();
+        Disposable disposable = I.signal(1, 2, 3, 4, 5).skipWhile(v -> v < 4).to(log, 1);
+        assert log.value(4);
+        assert log.completed == false;
+
+        disposable.request(1);
+        assert log.value(4, 5);
+        assert log.completed;
+    }
+
+    @Test
+    void combine() {
+        Log<Integer> log = new Log();
+        I.signal(1, 2, 3, 4, 5).combine(I.signal(10, 20, 30), (a, b) -> a + b).to(log, 3);
+        assert log.value(11, 22, 33);
+        assert log.completed;
+    }
+
+    @Test
+    void onBackpressureBuffer() {
+        Signaling<Integer> signaling = new Signaling();
+        Log<Integer> log = new Log();
+        Disposable disposable = signaling.expose.onBackpressureBuffer().to(log, 1);
+
+        signaling.accept(1);
+        signaling.accept(2);
+        signaling.accept(3);
+        assert log.value(1);
+
+        disposable.request(1);
+        assert log.value(1, 2);
+
+        signaling.complete();
+        assert log.completed == false;
+
+        disposable.request(5);
+        assert log.value(1, 2, 3);
+        assert log.completed;
+    }
+
+    @Test
+    void onBackpressureBufferRequestsOnlyDemand() {
+        List<Integer> pulled = new ArrayList();
+        Log<Integer> log = new Log();
+        Disposable disposable = I.signal(1, 2, 3, 4, 5).effect(pulled::add).onBackpressureBuffer().to(log, 2);
+        assert log.value(1, 2);
+        assert pulled.equals(List.of(1, 2));
+
+        disposable.request(10);
+        assert log.value(1, 2, 3, 4, 5);
+        assert log.completed;
+    }
+
+    @Test
+    void onBackpressureBufferNull() {
+        Signaling<String> signaling = new Signaling();
+        Log<String> log = new Log();
+        Disposable disposable = signaling.expose.onBackpressureBuffer().to(log, 0);
+
+        signaling.accept(null);
+        signaling.accept("ok");
+        disposable.request(2);
+        assert log.value(null, "ok");
+    }
+
+    @Test
+    void onBackpressureBufferOverflow() {
+        Signaling<Integer> signaling = new Signaling();
+        Log<Integer> log = new Log();
+        signaling.expose.onBackpressureBuffer(2).to(log, 0);
+
+        signaling.accept(1);
+        signaling.accept(2);
+        assert log.error == null;
+
+        signaling.accept(3);
+        assert log.error instanceof IllegalStateException;
+        assert log.value();
+    }
+
+    @Test
+    void onBackpressureBufferUnbounded() {
+        Log<Integer> log = new Log();
+        I.signal(1, 2, 3).onBackpressureBuffer(1).to(log);
+        assert log.value(1, 2, 3);
+        assert log.completed;
+    }
+
+    @Test
+    void onBackpressureDrop() {
+        Signaling<Integer> signaling = new Signaling();
+        Log<Integer> log = new Log();
+        Disposable disposable = signaling.expose.onBackpressureDrop().to(log, 1);
+
+        signaling.accept(1);
+        signaling.accept(2);
+        assert log.value(1);
+
+        disposable.request(1);
+        signaling.accept(3);
+        signaling.accept(4);
+        assert log.value(1, 3);
+    }
+
+    @Test
+    void onBackpressureLatest() {
+        Signaling<Integer> signaling = new Signaling();
+        Log<Integer> log = new Log();
+        Disposable disposable = signaling.expose.onBackpressureLatest().to(log, 0);
+
+        signaling.accept(1);
+        signaling.accept(2);
+        signaling.accept(3);
+        assert log.value();
+
+        disposable.request(1);
+        assert log.value(3);
+
+        signaling.accept(4);
+        signaling.complete();
+        assert log.completed == false;
+
+        disposable.request(1);
+        assert log.value(3, 4);
+        assert log.completed;
+    }
+}
\ No newline at end of file
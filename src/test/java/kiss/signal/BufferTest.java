@@ -9,11 +9,14 @@
  */
 package kiss.signal;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
 
+import kiss.I;
 import kiss.WiseFunction;
 
 class BufferTest extends SignalTester {
@@ -64,6 +67,59 @@ class BufferTest extends SignalTester {
         assert main.emit("E", "F").value("EF");
     }
 
+    @Test
+    void sizeAndTime() {
+        monitor(String.class, signal -> signal.buffer(3, Duration.ofMillis(30), false, scheduler).map(composer));
+
+        assert main.emit("A", "B").value();
+        assert main.emit("C").value("ABC");
+        assert main.emit("D").value();
+        scheduler.await();
+        assert main.value("D");
+        assert main.emit("E", "F", "G", "H").value("EFG");
+        scheduler.await();
+        assert main.value("H");
+    }
+
+    @Test
+    void sizeAndTimeWithFlush() {
+        monitor(String.class, signal -> signal.buffer(3, Duration.ofSeconds(10), true, scheduler).map(composer));
+
+        assert main.emit("A", "B", "C", "D").value("ABC");
+        assert main.emit(Complete).value("D");
+        assert main.isCompleted();
+    }
+
+    @Test
+    void sizeAndTimeWithoutFlush() {
+        monitor(String.class, signal -> signal.buffer(3, Duration.ofSeconds(10), false, scheduler).map(composer));
+
+        assert main.emit("A", "B", "C", "D").value("ABC");
+        assert main.emit(Complete).value();
+        assert main.isCompleted();
+    }
+
+    @Test
+    void sizeAndTimeOnDefaultScheduler() {
+        List<List<Integer>> result = I.signal(1, 2, 3, 4, 5, 6, 7)
+                .concat(I.signal(8).delay(100, ms))
+                .buffer(3, Duration.ofMillis(30), true)
+                .waitForTerminate()
+                .toList();
+
+        assert result.equals(List.of(List.of(1, 2, 3), List.of(4, 5, 6), List.of(7), List.of(8)));
+    }
+
+    @Test
+    void sizeAndTimeLargerThanPreallocated() {
+        List<List<Integer>> result = I.signal(IntStream.range(0, 5000).boxed().toList()).buffer(2000, null, true).toList();
+
+        assert result.size() == 3;
+        assert result.get(0).size() == 2000;
+        assert result.get(2).size() == 1000;
+        assert result.get(2).get(999) == 4999;
+    }
+
     @Test
     void signal() {
         monitor(String.class, signal -> signal.buffer(other.signal()).map(composer));
@@ -9,8 +9,15 @@
  */
 package kiss.signal;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
 import org.junit.jupiter.api.Test;
 
+import kiss.Signaling;
 import kiss.Variable;
 
 class DebounceTest extends SignalTester {
@@ -117,4 +124,52 @@ class DebounceTest extends SignalTester {
 
         assert main.emit("null unit", "makes", "no effect").value("null unit", "makes", "no effect");
     }
+
+    @Test
+    void defaultScheduler() throws Exception {
+        Signaling<String> signaling = new Signaling();
+        List<String> result = new CopyOnWriteArrayList();
+        CountDownLatch latch = new CountDownLatch(2);
+        signaling.expose.debounce(30, ms).to(v -> {
+            result.add(v);
+            latch.countDown();
+        });
+
+        for (int i = 0; i < 1000; i++) {
+            signaling.accept("A" + i);
+        }
+        Thread.sleep(150);
+        signaling.accept("B");
+
+        assert latch.await(3, TimeUnit.SECONDS);
+        assert result.equals(List.of("A999", "B"));
+    }
+
+    @Test
+    void resetUnderHighFrequency() throws Exception {
+        Signaling<Integer> signaling = new Signaling();
+        List<Integer> result = new CopyOnWriteArrayList();
+        long[] emitted = new long[1];
+        CountDownLatch latch = new CountDownLatch(1);
+        signaling.expose.debounce(30, ms).to(v -> {
+            emitted[0] = System.nanoTime();
+            result.add(v);
+            latch.countDown();
+        });
+
+        // the input interval is far shorter than the debounce time during 5 times of it
+        long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(150);
+        long last = 0;
+        int count = 0;
+        for (long now = System.nanoTime(); now < end; now = System.nanoTime()) {
+            last = now;
+            signaling.accept(count++);
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(200));
+        }
+
+        assert latch.await(3, TimeUnit.SECONDS);
+        Thread.sleep(60);
+        assert result.equals(List.of(count - 1));
+        assert TimeUnit.MILLISECONDS.toNanos(30) <= emitted[0] - last;
+    }
 }
\ No newline at end of file
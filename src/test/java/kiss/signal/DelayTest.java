@@ -10,9 +10,17 @@
 package kiss.signal;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
 import org.junit.jupiter.api.Test;
 
+import kiss.Signaling;
+
 class DelayTest extends SignalTester {
 
     @Test
@@ -133,4 +141,27 @@ class DelayTest extends SignalTester {
         assert main.isNotError();
         assert main.isDisposed();
     }
+
+    @Test
+    void delayOnTimingWheelKeepsOrder() throws Exception {
+        List<Integer> expected = new ArrayList();
+        for (int i = 0; i < 5000; i++) {
+            expected.add(i);
+        }
+
+        Signaling<Integer> source = new Signaling();
+        List<Integer> values = new CopyOnWriteArrayList();
+        CountDownLatch completed = new CountDownLatch(1);
+        source.expose.delay(1, ms).to(values::add, e -> {
+        }, completed::countDown);
+
+        for (int value : expected) {
+            source.accept(value);
+            if (value % 50 == 0) LockSupport.parkNanos(100_000);
+        }
+        source.complete();
+
+        assert completed.await(10, TimeUnit.SECONDS);
+        assert values.equals(expected);
+    }
 }
\ No newline at end of file
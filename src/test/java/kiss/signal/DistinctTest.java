@@ -9,8 +9,16 @@
  */
 package kiss.signal;
 
+import static java.util.concurrent.TimeUnit.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
 import org.junit.jupiter.api.Test;
 
+import kiss.I;
+
 class DistinctTest extends SignalTester {
 
     @Test
@@ -49,4 +57,81 @@ class DistinctTest extends SignalTester {
 
         assert main.emit("A", "B", "C", "C", "B", "A", "Z").value("A", "B", "C", "C", "B", "A", "Z");
     }
+
+    @Test
+    void maxKeys() {
+        monitor(signal -> signal.distinct(2));
+
+        assert main.emit("A", "B", "A", "B").value("A", "B");
+        assert main.emit("C", "A").value("C", "A");
+    }
+
+    @Test
+    void maxKeysRefreshBySeen() {
+        monitor(signal -> signal.distinct(2));
+
+        assert main.emit("A", "B", "A", "C").value("A", "B", "C");
+        assert main.emit("A", "B").value("B");
+    }
+
+    @Test
+    void maxKeysAcceptNull() {
+        monitor(signal -> signal.distinct(2));
+
+        assert main.emit(null, null, "A").value(null, "A");
+    }
+
+    @Test
+    void maxKeysZero() {
+        monitor(signal -> signal.distinct(0));
+
+        assert main.emit("A", "A").value("A", "A");
+    }
+
+    @Test
+    void time() throws Exception {
+        monitor(signal -> signal.distinct(50, MILLISECONDS));
+
+        assert main.emit("A", "B", "A", "B").value("A", "B");
+        Thread.sleep(80);
+        assert main.emit("A", "C", "A").value("A", "C");
+    }
+
+    @Test
+    void timeZero() {
+        monitor(signal -> signal.distinct(0, MILLISECONDS));
+
+        assert main.emit("A", "A").value("A", "A");
+    }
+
+    @Test
+    void approx() {
+        monitor(signal -> signal.distinctApprox(100, 0.01));
+
+        assert main.emit("A", "B", "C", "C", "B", "A", "Z").value("A", "B", "C", "Z");
+    }
+
+    @Test
+    void approxAcceptNull() {
+        monitor(signal -> signal.distinctApprox(100, 0.01));
+
+        assert main.emit("A", null, null, "C").value("A", null, "C");
+    }
+
+    @Test
+    void approxFalsePositive() {
+        List<Integer> source = IntStream.range(0, 10000).boxed().toList();
+        List<Integer> values = I.signal(source).concat(I.signal(source)).distinctApprox(10000, 0.01).toList();
+
+        // no duplication and only few values are dropped
+        assert values.size() == values.stream().distinct().count();
+        assert 9700 < values.size();
+    }
+
+    @Test
+    void approxInvalidParameter() {
+        assertThrows(IllegalArgumentException.class, () -> I.signal(1).distinctApprox(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> I.signal(1).distinctApprox(10, 0));
+        assertThrows(IllegalArgumentException.class, () -> I.signal(1).distinctApprox(10, 1));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,245 @@
+/*
+ * Copyright (C) 2024 The SINOBU Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package kiss.signal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.SubmissionPublisher;
+
+import org.junit.jupiter.api.Test;
+
+import kiss.Disposable;
+import kiss.I;
+import kiss.Observer;
+import kiss.Signaling;
+
+class FlowTest {
+
+    /**
+     * Synchronous publisher which emits the specified number of sequential values.
+     */
+    private static class Range implements Flow.Publisher<Integer> {
+
+        private final int size;
+
+        private final List<Long> requests = new ArrayList();
+
+        private int emitted;
+
+        private boolean canceled;
+
+        private Range(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super Integer> subscriber) {
+            subscriber.onSubscribe(new Subscription() {
+
+                private long requested;
+
+                private boolean emitting;
+
+                @Override
+                public void request(long n) {
+                    requests.add(n);
+                    requested += n;
+
+                    // avoid the recursive emission
+                    if (emitting) return;
+                    emitting = true;
+                    while (0 < requested && emitted < size && !canceled) {
+                        requested--;
+                        subscriber.onNext(++emitted);
+                    }
+                    if (emitted == size && !canceled) {
+                        canceled = true;
+                        subscriber.onComplete();
+                    }
+                    emitting = false;
+                }
+
+                @Override
+                public void cancel() {
+                    canceled = true;
+                }
+            });
+        }
+    }
+
+    /**
+     * Subscriber which records all events.
+     */
+    private static class Log<V> implements Flow.Subscriber<V> {
+
+        private final List<V> values = new ArrayList();
+
+        private Subscription subscription;
+
+        private Throwable error;
+
+        private boolean completed;
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(V item) {
+            values.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+
+    @Test
+    void fromPublisher() {
+        Range range = new Range(200);
+        List<Integer> values = I.signal(range).toList();
+
+        assert values.size() == 200;
+        assert values.get(0) == 1;
+        assert values.get(199) == 200;
+        assert range.requests.get(0) == 64;
+        assert range.requests.stream().skip(1).allMatch(n -> n == 48);
+    }
+
+    @Test
+    void fromPublisherWithDemand() {
+        Range range = new Range(1000);
+        List<Integer> values = new ArrayList();
+        Disposable disposable = I.signal(range).to((Observer<Integer>) values::add, 10);
+
+        assert values.size() == 10;
+        assert range.emitted == 64;
+
+        disposable.request(100);
+        assert values.size() == 110;
+        assert range.emitted <= 110 + 64;
+
+        disposable.dispose();
+        assert range.canceled;
+    }
+
+    @Test
+    void fromPublisherError() {
+        List<Throwable> errors = new ArrayList();
+        I.signal((Flow.Publisher<String>) subscriber -> subscriber.onError(new Error())).to(I.NoOP, errors::add, I.NoOP);
+
+        assert errors.size() == 1;
+    }
+
+    @Test
+    void fromSubmissionPublisher() {
+        List<String> values = new ArrayList();
+        try (SubmissionPublisher<String> publisher = new SubmissionPublisher(Runnable::run, 16)) {
+            I.signal(publisher).to(values::add);
+
+            for (int i = 0; i < 100; i++) {
+                publisher.submit(String.valueOf(i));
+            }
+        }
+        assert values.size() == 100;
+    }
+
+    @Test
+    void toPublisher() {
+        Log<Integer> log = new Log();
+        I.signal(1, 2, 3, 4, 5).toPublisher().subscribe(log);
+        assert log.values.isEmpty();
+
+        log.subscription.request(2);
+        assert log.values.equals(List.of(1, 2));
+        assert log.completed == false;
+
+        log.subscription.request(3);
+        assert log.values.equals(List.of(1, 2, 3, 4, 5));
+        assert log.completed;
+    }
+
+    @Test
+    void toPublisherRequestsOnlyDemand() {
+        List<Integer> source = new ArrayList();
+        for (int i = 0; i < 1000000; i++) {
+            source.add(i);
+        }
+
+        List<Integer> pulled = new ArrayList();
+        Log<Integer> log = new Log();
+        I.signal(source).effect(pulled::add).toPublisher().subscribe(log);
+        assert pulled.isEmpty();
+
+        log.subscription.request(3);
+        assert log.values.equals(List.of(0, 1, 2));
+        assert pulled.equals(List.of(0, 1, 2));
+
+        log.subscription.request(2);
+        assert log.values.equals(List.of(0, 1, 2, 3, 4));
+        assert pulled.size() == 5;
+    }
+
+    @Test
+    void toPublisherBuffersPushedValues() {
+        Signaling<Integer> signaling = new Signaling();
+        Log<Integer> log = new Log();
+        signaling.expose.toPublisher().subscribe(log);
+
+        signaling.accept(1);
+        signaling.accept(2);
+        signaling.accept(3);
+        assert log.values.isEmpty();
+
+        log.subscription.request(2);
+        assert log.values.equals(List.of(1, 2));
+
+        signaling.complete();
+        assert log.completed == false;
+
+        log.subscription.request(1);
+        assert log.values.equals(List.of(1, 2, 3));
+        assert log.completed;
+    }
+
+    @Test
+    void toPublisherCancel() {
+        Log<Integer> log = new Log();
+        I.signal(1, 2, 3).toPublisher().subscribe(log);
+
+        log.subscription.request(1);
+        log.subscription.cancel();
+        log.subscription.request(1);
+        assert log.values.equals(List.of(1));
+    }
+
+    @Test
+    void toPublisherInvalidRequest() {
+        Log<Integer> log = new Log();
+        I.signal(1, 2, 3).toPublisher().subscribe(log);
+
+        log.subscription.request(0);
+        assert log.error instanceof IllegalArgumentException;
+    }
+
+    @Test
+    void roundTrip() {
+        assert I.signal(I.signal(1, 2, 3).toPublisher()).toList().equals(List.of(1, 2, 3));
+    }
+}
\ No newline at end of file
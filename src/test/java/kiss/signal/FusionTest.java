@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2024 The SINOBU Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package kiss.signal;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import kiss.I;
+import kiss.Signal;
+
+class FusionTest extends SignalTester {
+
+    @Test
+    void chain() {
+        monitor(() -> signal(1, 2, 3, 4, 5, 6).map(v -> v + 1).take(v -> v % 2 == 0).map(v -> v * 10).skip(v -> v == 40));
+
+        assert main.value(20, 60);
+        assert main.isCompleted();
+        assert main.isDisposed();
+    }
+
+    @Test
+    void chainWithNull() {
+        monitor(() -> signal("a", null, "b").map(v -> v == null ? null : v.toUpperCase()).skipNull().map(v -> v + v));
+
+        assert main.value("AA", "BB");
+        assert main.isCompleted();
+    }
+
+    @Test
+    void chainWithStatefulOperator() {
+        monitor(() -> signal(1, 1, 2, 2, 3).map(v -> v * 2).diff().map(v -> v + 1).skip(1));
+
+        assert main.value(5, 7);
+        assert main.isCompleted();
+    }
+
+    @Test
+    void chainError() {
+        monitor(() -> signal(1, 2, 3).map(v -> v * 2).take(v -> v != 4).map(errorFunction()));
+
+        assert main.value();
+        assert main.isError();
+        assert main.isDisposed();
+    }
+
+    @Test
+    void contextPerSubscription() {
+        AtomicInteger created = new AtomicInteger();
+        Signal<Integer> signal = I.signal(1, 2, 3).map(() -> created.incrementAndGet(), (context, v) -> v * context);
+
+        assert signal.toList().equals(list(1, 2, 3));
+        assert signal.toList().equals(list(2, 4, 6));
+        assert created.get() == 2;
+    }
+
+    @Test
+    void stateIsNotSharedBetweenSubscriptions() {
+        Signal<Integer> signal = I.signal(1, 2, 3, 4).map(v -> v * 2).skip(2);
+
+        assert signal.toList().equals(list(6, 8));
+        assert signal.toList().equals(list(6, 8));
+    }
+
+    @Test
+    void branch() {
+        Signal<Integer> base = I.signal(1, 2, 3).map(v -> v * 2);
+        Signal<Integer> left = base.map(v -> v + 1);
+        Signal<Integer> right = base.take(v -> v != 4);
+
+        assert base.toList().equals(list(2, 4, 6));
+        assert left.toList().equals(list(3, 5, 7));
+        assert right.toList().equals(list(2, 6));
+    }
+}
\ No newline at end of file
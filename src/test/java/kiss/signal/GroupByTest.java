@@ -0,0 +1,195 @@
+/*
+ * Copyright (C) 2024 The SINOBU Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package kiss.signal;
+
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import kiss.Disposable;
+import kiss.I;
+import kiss.Signal;
+import kiss.Signaling;
+
+class GroupByTest extends SignalTester {
+
+    @Test
+    void groupBy() {
+        Map<Boolean, List<Integer>> groups = new ConcurrentHashMap();
+
+        I.signal(1, 2, 3, 4, 5).groupBy(v -> v % 2 == 0).to(group -> {
+            List<Integer> values = new ArrayList();
+            groups.put(group.ⅰ, values);
+            group.ⅱ.to(values::add);
+        });
+
+        assert groups.get(true).equals(List.of(2, 4));
+        assert groups.get(false).equals(List.of(1, 3, 5));
+    }
+
+    @Test
+    void keys() {
+        assert I.signal("a", "bb", "c", "dd", "eee").groupBy(String::length).map(group -> group.ⅰ).toList().equals(List.of(1, 2, 3));
+    }
+
+    @Test
+    void nullKey() {
+        assert I.signal(1, 2, 3).groupBy(v -> v == 2 ? "two" : null).map(group -> group.ⅰ).toList().equals(Arrays.asList(null, "two"));
+    }
+
+    @Test
+    void complete() {
+        List<String> events = new ArrayList();
+
+        I.signal(1, 2, 3).groupBy(v -> v).to(group -> {
+            group.ⅱ.to(I.NoOP, e -> {
+            }, () -> events.add("group" + group.ⅰ));
+        }, e -> {
+        }, () -> events.add("source"));
+
+        assert events.equals(List.of("group1", "group2", "group3", "source"));
+    }
+
+    @Test
+    void error() {
+        Signaling<Integer> signaling = new Signaling();
+        List<Throwable> errors = new ArrayList();
+
+        signaling.expose.groupBy(v -> v).to(group -> group.ⅱ.to(I.NoOP, errors::add, I.NoOP), errors::add, I.NoOP);
+        signaling.accept(1);
+        signaling.accept(2);
+        signaling.error(new Error());
+
+        assert errors.size() == 3;
+    }
+
+    @Test
+    void dispose() {
+        Signaling<Integer> signaling = new Signaling();
+        List<Integer> values = new ArrayList();
+
+        signaling.expose.groupBy(v -> v).to(group -> group.ⅱ.to(values::add)).dispose();
+        signaling.accept(1);
+
+        assert values.isEmpty();
+    }
+
+    @Test
+    void idle() throws Exception {
+        Signaling<String> signaling = new Signaling();
+        List<String> keys = new CopyOnWriteArrayList();
+        CountDownLatch closed = new CountDownLatch(1);
+
+        signaling.expose.groupBy(v -> v, Duration.ofMillis(30)).to(group -> {
+            keys.add(group.ⅰ);
+            group.ⅱ.to(I.NoOP, e -> {
+            }, closed::countDown);
+        });
+
+        signaling.accept("user");
+        signaling.accept("user");
+        assert keys.equals(List.of("user"));
+
+        // the idle group is closed and the same key opens the new group
+        assert closed.await(3, TimeUnit.SECONDS);
+        signaling.accept("user");
+        assert keys.equals(List.of("user", "user"));
+    }
+
+    @Test
+    void idleExtended() throws Exception {
+        Signaling<String> signaling = new Signaling();
+        List<String> keys = new CopyOnWriteArrayList();
+
+        signaling.expose.groupBy(v -> v, Duration.ofMillis(200)).to(group -> keys.add(group.ⅰ));
+
+        for (int i = 0; i < 5; i++) {
+            signaling.accept("user");
+            Thread.sleep(20);
+        }
+        assert keys.equals(List.of("user"));
+    }
+
+    @Test
+    void concurrentRouting() throws Exception {
+        Signaling<Integer> signaling = new Signaling();
+        Map<Integer, List<Integer>> groups = new ConcurrentHashMap();
+
+        signaling.expose.groupBy(v -> v % 4).to(group -> {
+            List<Integer> values = new CopyOnWriteArrayList();
+            groups.put(group.ⅰ, values);
+            group.ⅱ.to(values::add);
+        });
+
+        List<Thread> threads = new ArrayList();
+        for (int t = 0; t < 4; t++) {
+            int base = t * 1000;
+            threads.add(Thread.ofVirtual().start(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    signaling.accept(base + i);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assert groups.size() == 4;
+        assert groups.values().stream().mapToInt(List::size).sum() == 4000;
+    }
+
+    @Test
+    void idleCancelledByDispose() throws Exception {
+        Signaling<String> signaling = new Signaling();
+        CountDownLatch closed = new CountDownLatch(1);
+
+        Disposable disposable = signaling.expose.groupBy(v -> v, Duration.ofMillis(30)).to(group -> {
+            group.ⅱ.to(I.NoOP, e -> {
+            }, closed::countDown);
+        });
+
+        signaling.accept("user");
+        disposable.dispose();
+        assert closed.await(300, TimeUnit.MILLISECONDS) == false;
+    }
+
+    @Test
+    void idleGroupIsReleased() throws Exception {
+        Signaling<String> signaling = new Signaling();
+        CountDownLatch closed = new CountDownLatch(1);
+        List<WeakReference<Signal<String>>> references = new ArrayList();
+
+        Disposable disposable = signaling.expose.groupBy(v -> v, Duration.ofMillis(30)).to(group -> {
+            references.add(new WeakReference(group.ⅱ));
+            group.ⅱ.to(I.NoOP, e -> {
+            }, closed::countDown);
+        });
+
+        signaling.accept("user");
+        assert closed.await(3, TimeUnit.SECONDS);
+
+        // the closed group is not held by the live subscription
+        for (int i = 0; i < 50 && references.get(0).get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assert references.get(0).get() == null;
+        assert disposable.isDisposed() == false;
+    }
+}
\ No newline at end of file
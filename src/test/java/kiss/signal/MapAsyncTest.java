@@ -0,0 +1,154 @@
+/*
+ * Copyright (C) 2024 The SINOBU Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package kiss.signal;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import kiss.I;
+
+class MapAsyncTest extends SignalTester {
+
+    private final List<Integer> values = IntStream.range(0, 200).boxed().toList();
+
+    @Test
+    void ordered() {
+        List<Integer> result = I.signal(values).mapAsync(v -> {
+            Thread.sleep(v % 3);
+            return v * 2;
+        }, 8, true).waitForTerminate().toList();
+
+        assert result.equals(values.stream().map(v -> v * 2).toList());
+    }
+
+    @Test
+    void unordered() {
+        List<Integer> result = I.signal(values).mapAsync(v -> v * 2, 8, false).waitForTerminate().toList();
+
+        assert result.size() == 200;
+        assert result.stream().mapToInt(v -> v).sum() == 39800;
+    }
+
+    @Test
+    void maxConcurrency() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger max = new AtomicInteger();
+
+        List<Integer> result = I.signal(values).mapAsync(v -> {
+            max.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(1);
+            running.decrementAndGet();
+            return v;
+        }, 3, true).waitForTerminate().toList();
+
+        assert result.equals(values);
+        assert max.get() <= 3;
+    }
+
+    @Test
+    void pushSource() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger max = new AtomicInteger();
+
+        monitor(1, int.class, signal -> signal.mapAsync(v -> {
+            max.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(5);
+            running.decrementAndGet();
+            return v * 10;
+        }, 2, true, scheduler));
+
+        for (int i = 0; i < 10; i++) {
+            main.emit(i);
+        }
+        main.emit(Complete);
+
+        assert scheduler.await();
+        assert main.isCompleted();
+        assert main.value(0, 10, 20, 30, 40, 50, 60, 70, 80, 90);
+        assert max.get() <= 2;
+    }
+
+    @Test
+    void demandAwareSource() {
+        AtomicInteger calls = new AtomicInteger();
+        List<Integer> large = IntStream.range(0, 100000).boxed().toList();
+
+        List<Integer> result = I.signal(large).mapAsync(v -> {
+            calls.incrementAndGet();
+            return v;
+        }, 4, true).take(10).waitForTerminate().toList();
+
+        assert result.equals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9));
+        assert calls.get() < 100;
+    }
+
+    @Test
+    void error() {
+        monitor(1, int.class, signal -> signal.mapAsync(v -> {
+            if (v == 3) throw new IllegalStateException();
+            return v;
+        }, 1, true, scheduler));
+
+        main.emit(1, 2, 3, 4);
+
+        assert scheduler.await();
+        assert main.isError();
+        assert main.isDisposed();
+    }
+
+    @Test
+    void errorOnce() {
+        List<Throwable> errors = new CopyOnWriteArrayList();
+
+        I.signal(values).mapAsync(v -> {
+            throw new IllegalStateException();
+        }, 8, false).waitForTerminate().to(I.NoOP, errors::add, I.NoOP);
+
+        assert errors.size() == 1;
+    }
+
+    @Test
+    void headBlocksNewTasks() throws Exception {
+        CountDownLatch blocked = new CountDownLatch(1);
+        AtomicInteger started = new AtomicInteger();
+        List<Integer> result = new CopyOnWriteArrayList();
+        CountDownLatch completed = new CountDownLatch(1);
+
+        I.signal(values).mapAsync(v -> {
+            started.incrementAndGet();
+            if (v == 0) blocked.await();
+            return v;
+        }, 4, true).to(result::add, e -> completed.countDown(), completed::countDown);
+
+        Thread.sleep(50);
+        assert started.get() == 4;
+        assert result.isEmpty();
+
+        blocked.countDown();
+        completed.await();
+        assert result.equals(values);
+    }
+
+    @Test
+    void afterAggregation() {
+        assert I.signal(values).last().mapAsync(v -> v * 2, 4, true).waitForTerminate().to().is(398);
+        assert I.signal(values).buffer().mapAsync(List::size, 4, true).waitForTerminate().to().is(200);
+    }
+
+    @Test
+    void empty() {
+        assert I.<Integer> signal().mapAsync(v -> v, 4, true).waitForTerminate().toList().isEmpty();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2024 The SINOBU Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package kiss.signal;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import kiss.Disposable;
+import kiss.I;
+import kiss.Metric;
+import kiss.Signaling;
+
+class MeasureTest extends SignalTester {
+
+    @Test
+    void values() {
+        I.signal(1, 2, 3).measure("MeasureTest.values").to(I.NoOP);
+
+        Metric metric = Metric.of("MeasureTest.values");
+        assert metric.values() == 3;
+        assert metric.errors() == 0;
+        assert metric.completes() == 1;
+    }
+
+    @Test
+    void error() {
+        monitor(Integer.class, signal -> signal.measure("MeasureTest.error"));
+
+        assert main.emit(1, 2, Error).value(1, 2);
+        Metric metric = Metric.of("MeasureTest.error");
+        assert metric.values() == 4; // multiplicity
+        assert metric.errors() == 2;
+        assert metric.completes() == 0;
+    }
+
+    @Test
+    void time() {
+        I.signal(1, 2).measure("MeasureTest.time").to(v -> {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                throw I.quiet(e);
+            }
+        });
+
+        Metric metric = Metric.of("MeasureTest.time");
+        assert 40 <= metric.time(TimeUnit.MILLISECONDS);
+        assert TimeUnit.MILLISECONDS.toNanos(20) <= metric.average();
+    }
+
+    @Test
+    void subscriptions() {
+        Signaling<Integer> signaling = new Signaling();
+        Disposable first = signaling.expose.measure("MeasureTest.subscriptions").to(I.NoOP);
+        Disposable second = signaling.expose.measure("MeasureTest.subscriptions").to(I.NoOP);
+        assert Metric.of("MeasureTest.subscriptions").subscriptions() == 2;
+
+        first.dispose();
+        assert Metric.of("MeasureTest.subscriptions").subscriptions() == 1;
+        second.dispose();
+        assert Metric.of("MeasureTest.subscriptions").subscriptions() == 0;
+    }
+
+    @Test
+    void pending() {
+        Signaling<Integer> signaling = new Signaling();
+        signaling.expose.measure("MeasureTest.pending.in").take(v -> v % 2 == 0).measure("MeasureTest.pending.out").to(I.NoOP);
+
+        signaling.accept(1);
+        signaling.accept(2);
+        signaling.accept(3);
+
+        Metric in = Metric.of("MeasureTest.pending.in");
+        Metric out = Metric.of("MeasureTest.pending.out");
+        assert in.pending(out) == 2;
+    }
+
+    @Test
+    void reset() {
+        I.signal(1, 2, 3).measure("MeasureTest.reset").to(I.NoOP);
+        assert Metric.of("MeasureTest.reset").values() == 3;
+
+        Metric.reset("MeasureTest.reset");
+        assert Metric.of("MeasureTest.reset").values() == 0;
+    }
+
+    @Test
+    void resetReleasesMeasuringPoint() {
+        I.signal(1, 2, 3).measure("MeasureTest.release").to(I.NoOP);
+        assert Metric.all().stream().anyMatch(m -> m.name().equals("MeasureTest.release"));
+
+        Metric.reset("MeasureTest.release");
+        assert Metric.all().stream().noneMatch(m -> m.name().equals("MeasureTest.release"));
+    }
+
+    @Test
+    void resetKeepsActiveMeasuringPoint() {
+        Signaling<Integer> signaling = new Signaling();
+        Disposable disposable = signaling.expose.measure("MeasureTest.active").to(I.NoOP);
+        signaling.accept(1);
+
+        Metric.reset("MeasureTest.active");
+        signaling.accept(2);
+        assert Metric.of("MeasureTest.active").values() == 1;
+        assert Metric.of("MeasureTest.active").subscriptions() == 1;
+
+        disposable.dispose();
+        Metric.reset("MeasureTest.active");
+        assert Metric.all().stream().noneMatch(m -> m.name().equals("MeasureTest.active"));
+    }
+
+    @Test
+    void unknownIsNotRegistered() {
+        assert Metric.of("MeasureTest.unknown").values() == 0;
+        assert Metric.all().stream().noneMatch(m -> m.name().equals("MeasureTest.unknown"));
+    }
+
+    @Test
+    void observe() {
+        I.signal(1).measure("MeasureTest.observe").to(I.NoOP);
+
+        List<Metric> metrics = Metric.observe(10, TimeUnit.MILLISECONDS).take(1).waitForTerminate().to().exact();
+        assert metrics.stream().anyMatch(m -> m.name().equals("MeasureTest.observe") && m.values() == 1);
+    }
+}
\ No newline at end of file
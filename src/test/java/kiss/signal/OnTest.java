@@ -9,13 +9,17 @@
  */
 package kiss.signal;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.function.Consumer;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
 
 import kiss.I;
+import kiss.Signaling;
 import kiss.TestableScheduler;
 
 class OnTest extends SignalTester {
@@ -93,9 +97,131 @@ class OnTest extends SignalTester {
 
         assert values.isEmpty();
         scheduler.await();
-        assert values.get(0).equals(3);
+        assert values.get(0).equals(1);
         assert values.get(1).equals(2);
-        assert values.get(2).equals(1);
+        assert values.get(2).equals(3);
         assert values.get(3).equals("COMPLETE");
     }
+
+    @Test
+    void drainInBatch() {
+        List<Runnable> tasks = new ArrayList();
+        List values = new ArrayList();
+        I.signal(1, 2, 3).on(tasks::add).to(values::add, e -> values.add("ERROR"), () -> values.add("COMPLETE"));
+
+        assert tasks.size() == 1;
+        assert values.isEmpty();
+
+        tasks.get(0).run();
+        assert values.equals(List.of(1, 2, 3, "COMPLETE"));
+    }
+
+    @Test
+    void prefetch() {
+        List<Runnable> tasks = new ArrayList();
+        List<Integer> values = new ArrayList();
+        I.signal(1, 2, 3, 4, 5, 6, 7, 8, 9, 10).effect(values::add).on(tasks::add, 4).to(I.NoOP);
+
+        // only the prefetched values are pulled from the source
+        assert values.equals(List.of(1, 2, 3, 4));
+
+        tasks.get(0).run();
+        assert values.size() == 10;
+    }
+
+    @Test
+    void boundedByDefault() {
+        List<Runnable> tasks = new ArrayList();
+        List<Integer> values = new ArrayList();
+        I.signal(IntStream.range(0, 1000).boxed().toList()).effect(values::add).on(tasks::add).to(I.NoOP);
+
+        // only the default prefetch is pulled from the source
+        assert values.size() == 256;
+
+        tasks.get(0).run();
+        assert values.size() == 1000;
+    }
+
+    @Test
+    void fastProducerOnSlowScheduler() {
+        Deque<Runnable> tasks = new ArrayDeque();
+        int[] pulled = {0};
+        int[] max = {0};
+        List<Integer> values = new ArrayList();
+
+        I.signal(IntStream.range(0, 10000).boxed().toList()).effect(v -> pulled[0]++).on(tasks::add).to(v -> {
+            values.add(v);
+            max[0] = Math.max(max[0], pulled[0] - values.size());
+        });
+
+        while (!tasks.isEmpty()) {
+            tasks.pollFirst().run();
+        }
+        assert values.size() == 10000;
+        assert max[0] <= 256;
+    }
+
+    @Test
+    void unboundedPrefetch() {
+        List<Runnable> tasks = new ArrayList();
+        List<Integer> values = new ArrayList();
+        I.signal(IntStream.range(0, 1000).boxed().toList()).effect(values::add).on(tasks::add, Integer.MAX_VALUE).to(I.NoOP);
+
+        // all values are pulled from the source without demand
+        assert values.size() == 1000;
+    }
+
+    @Test
+    void sourceIgnoringDemand() {
+        List<Runnable> tasks = new ArrayList();
+        List<Integer> values = new ArrayList();
+        Signaling<Integer> signaling = new Signaling();
+        signaling.expose.on(tasks::add).to(values::add);
+
+        for (int i = 0; i < 1000; i++) {
+            signaling.accept(i);
+        }
+
+        // the queue grows beyond the prefetch and loses nothing
+        tasks.get(0).run();
+        assert values.size() == 1000;
+    }
+
+    @Test
+    void aggregationOnMultiThreadedScheduler() {
+        List<Integer> source = new ArrayList();
+        for (int i = 0; i < 1000; i++) {
+            source.add(i);
+        }
+
+        assert I.signal(source).last().on(I.Jobs::execute).waitForTerminate().to().is(999);
+        assert I.signal(source).scan(() -> 0, (sum, v) -> sum + v).last().on(I.Jobs::execute).waitForTerminate().to().is(499500);
+        assert I.signal(source).skipWhile(x -> x < 900).on(I.Jobs::execute).waitForTerminate().toList().size() == 100;
+        assert I.signal(source).buffer().on(I.Jobs::execute).waitForTerminate().to().is(source);
+        assert I.signal(source).combine(I.signal(1, 2, 3)).on(I.Jobs::execute).waitForTerminate().toList().size() == 3;
+    }
+
+    @Test
+    void aggregationWithPrefetch() {
+        List<Integer> source = new ArrayList();
+        for (int i = 0; i < 1000; i++) {
+            source.add(i);
+        }
+
+        assert I.signal(source).last().on(I.Jobs::execute, 4).waitForTerminate().to().is(999);
+        assert I.signal(source).skipWhile(x -> x < 900).on(I.Jobs::execute, 4).waitForTerminate().toList().size() == 100;
+        assert I.signal(source).buffer().on(I.Jobs::execute, 4).waitForTerminate().to().is(source);
+    }
+
+    @Test
+    void orderOnMultiThreadedScheduler() {
+        List<Integer> values = new ArrayList();
+        List<Integer> expected = new ArrayList();
+        for (int i = 0; i < 10000; i++) {
+            expected.add(i);
+        }
+
+        I.signal(expected).on(I.Jobs::execute).waitForTerminate().to(values::add);
+        assert values.equals(expected);
+    }
 }
\ No newline at end of file
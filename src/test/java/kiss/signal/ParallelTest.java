@@ -0,0 +1,183 @@
+/*
+ * Copyright (C) 2024 The SINOBU Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package kiss.signal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import kiss.I;
+import kiss.Signal;
+
+class ParallelTest extends SignalTester {
+
+    private final List<Integer> values = IntStream.range(0, 1000).boxed().toList();
+
+    @Test
+    void unordered() {
+        List<Integer> result = I.signal(values).parallel(4, false, rail -> rail.map(v -> v * 2)).waitForTerminate().toList();
+
+        assert result.size() == 1000;
+        assert result.stream().mapToInt(v -> v).sum() == 999000;
+    }
+
+    @Test
+    void ordered() {
+        List<Integer> result = I.signal(values).parallel(4, true, rail -> rail.map(v -> v * 2)).waitForTerminate().toList();
+
+        assert result.equals(values.stream().map(v -> v * 2).toList());
+    }
+
+    @Test
+    void orderedWithFilterAndFlatMap() {
+        List<Integer> result = I.signal(values)
+                .parallel(3, true, rail -> rail.take(v -> v % 2 == 0).flatMap(v -> I.signal(v, -v)))
+                .waitForTerminate()
+                .toList();
+
+        List<Integer> expected = new ArrayList();
+        for (int v : values) {
+            if (v % 2 == 0) {
+                expected.add(v);
+                expected.add(-v);
+            }
+        }
+        assert result.equals(expected);
+    }
+
+    @Test
+    void runOnMultipleThreads() {
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            I.signal(values).parallel(4, false, rail -> rail.effect(v -> threads.add(Thread.currentThread())), executor).waitForTerminate().to();
+
+            assert 1 < threads.size();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void railIsSerial() {
+        Map<Integer, Thread> active = new ConcurrentHashMap();
+        List<Throwable> errors = new ArrayList();
+
+        I.signal(values).parallel(4, v -> v % 4, rail -> rail.effect(v -> {
+            Thread current = Thread.currentThread();
+            Thread previous = active.putIfAbsent(v % 4, current);
+            if (previous != null) throw new IllegalStateException();
+            Thread.onSpinWait();
+            active.remove(v % 4);
+        })).waitForTerminate().to(I.NoOP, errors::add, I.NoOP);
+
+        assert errors.isEmpty();
+    }
+
+    @Test
+    void byKey() {
+        Map<Integer, List<Integer>> groups = new ConcurrentHashMap();
+
+        I.signal(values).parallel(4, v -> v % 10, rail -> rail.effect(v -> groups.computeIfAbsent(v % 10, k -> new ArrayList()).add(v)))
+                .waitForTerminate()
+                .to();
+
+        assert groups.size() == 10;
+        for (List<Integer> group : groups.values()) {
+            assert group.size() == 100;
+            for (int i = 1; i < group.size(); i++) {
+                assert group.get(i - 1) < group.get(i);
+            }
+        }
+    }
+
+    @Test
+    void takePerRail() {
+        List<Integer> result = I.signal(values).parallel(4, true, rail -> rail.take(2)).waitForTerminate().toList();
+
+        assert result.equals(List.of(0, 1, 2, 3, 4, 5, 6, 7));
+    }
+
+    @Test
+    void error() {
+        List<Throwable> errors = new ArrayList();
+
+        I.signal(values).parallel(4, false, rail -> rail.map(v -> {
+            if (v == 500) throw new IllegalStateException();
+            return v;
+        })).waitForTerminate().to(I.NoOP, errors::add, I.NoOP);
+
+        assert errors.size() == 1;
+        assert errors.get(0) instanceof IllegalStateException;
+    }
+
+    @Test
+    void errorOnce() {
+        List<Throwable> errors = new CopyOnWriteArrayList();
+
+        I.signal(values).parallel(4, false, rail -> rail.map(v -> {
+            throw new IllegalStateException();
+        })).waitForTerminate().to(I.NoOP, errors::add, I.NoOP);
+
+        assert errors.size() == 1;
+    }
+
+    @Test
+    void errorAndCompleteAreExclusive() {
+        List<String> events = new CopyOnWriteArrayList();
+
+        I.signal(values).parallel(4, true, rail -> rail.map(v -> {
+            if (v == 999) throw new IllegalStateException();
+            return v;
+        })).waitForTerminate().to(I.NoOP, e -> events.add("error"), () -> events.add("complete"));
+
+        assert events.equals(List.of("error"));
+    }
+
+    @Test
+    void boundedReorderBuffer() throws Exception {
+        CountDownLatch blocked = new CountDownLatch(1);
+        AtomicInteger pulled = new AtomicInteger();
+        List<Integer> source = IntStream.range(0, 100000).boxed().toList();
+
+        Signal<Integer> signal = I.signal(source).effect(pulled::incrementAndGet).parallel(4, true, rail -> rail.effect(v -> {
+            // the first rail lags behind the others
+            if (v == 0) blocked.await();
+        }));
+        List<Integer> result = Collections.synchronizedList(new ArrayList());
+        CountDownLatch completed = new CountDownLatch(1);
+        signal.to(result::add, e -> completed.countDown(), completed::countDown);
+
+        Thread.sleep(100);
+        assert pulled.get() <= 4 * 128;
+        assert result.isEmpty();
+
+        blocked.countDown();
+        completed.await();
+        assert result.equals(source);
+    }
+
+    @Test
+    void empty() {
+        assert I.<Integer> signal().parallel(4, true, rail -> rail.map(v -> v)).waitForTerminate().toList().isEmpty();
+    }
+}
\ No newline at end of file
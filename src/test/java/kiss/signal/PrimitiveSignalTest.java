@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2024 The SINOBU Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package kiss.signal;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import kiss.DoubleSignal;
+import kiss.I;
+import kiss.IntSignal;
+import kiss.LongSignal;
+
+class PrimitiveSignalTest {
+
+    @Test
+    void of() {
+        assert Arrays.equals(IntSignal.of(1, 2, 3).toArray(), new int[] {1, 2, 3});
+        assert Arrays.equals(LongSignal.of(1, 2, 3).toArray(), new long[] {1, 2, 3});
+        assert Arrays.equals(DoubleSignal.of(1, 2, 3).toArray(), new double[] {1, 2, 3});
+        assert IntSignal.of().toArray().length == 0;
+        assert IntSignal.of((int[]) null).toArray().length == 0;
+    }
+
+    @Test
+    void range() {
+        assert Arrays.equals(IntSignal.range(0, 5).toArray(), new int[] {0, 1, 2, 3, 4});
+        assert Arrays.equals(LongSignal.range(3, 5).toArray(), new long[] {3, 4});
+        assert LongSignal.range(5, 5).toArray().length == 0;
+    }
+
+    @Test
+    void map() {
+        assert Arrays.equals(IntSignal.of(1, 2, 3).map(v -> v * 10).toArray(), new int[] {10, 20, 30});
+        assert Arrays.equals(DoubleSignal.of(1, 2).map(v -> v / 2).toArray(), new double[] {0.5, 1});
+    }
+
+    @Test
+    void scan() {
+        assert Arrays.equals(LongSignal.range(1, 5).scan(0, Long::sum).toArray(), new long[] {1, 3, 6, 10});
+    }
+
+    @Test
+    void take() {
+        assert Arrays.equals(IntSignal.range(0, 10).take(v -> v % 3 == 0).toArray(), new int[] {0, 3, 6, 9});
+        assert Arrays.equals(IntSignal.range(0, 10).take(3).toArray(), new int[] {0, 1, 2});
+        assert IntSignal.range(0, 10).take(0).toArray().length == 0;
+    }
+
+    @Test
+    void takeStopsInfiniteSource() {
+        assert LongSignal.range(0, Long.MAX_VALUE).take(5).sum() == 10;
+    }
+
+    @Test
+    void buffer() {
+        List<long[]> buffers = LongSignal.range(0, 7).buffer(3).toList();
+        assert buffers.size() == 2;
+        assert Arrays.equals(buffers.get(0), new long[] {0, 1, 2});
+        assert Arrays.equals(buffers.get(1), new long[] {3, 4, 5});
+    }
+
+    @Test
+    void aggregate() {
+        assert IntSignal.range(1, 101).sum() == 5050;
+        assert LongSignal.of(3, 1, 2).min().getAsLong() == 1;
+        assert LongSignal.of(3, 1, 2).max().getAsLong() == 3;
+        assert IntSignal.of(1, 2).average().getAsDouble() == 1.5;
+        assert DoubleSignal.of(0.5, 1.5).average().getAsDouble() == 1;
+    }
+
+    @Test
+    void aggregateEmpty() {
+        assert IntSignal.of().sum() == 0;
+        assert IntSignal.of().min().isEmpty();
+        assert LongSignal.of().max().isEmpty();
+        assert DoubleSignal.of().average().isEmpty();
+    }
+
+    @Test
+    void compensatedSum() {
+        double[] values = new double[10000];
+        Arrays.fill(values, 0.1);
+
+        assert DoubleSignal.of(values).sum() == 1000;
+    }
+
+    @Test
+    void fromSignal() {
+        assert I.signal("a", "bb", "ccc").mapToInt(String::length).sum() == 6;
+        assert I.signal(1, 2, 3).mapToLong(v -> v * 10L).max().getAsLong() == 30;
+        assert I.signal(1, 2).mapToDouble(v -> v / 4d).sum() == 0.75;
+    }
+
+    @Test
+    void aggregateAsynchronousSource() {
+        List<Integer> values = new ArrayList();
+        for (int i = 1; i <= 1000; i++) {
+            values.add(i);
+        }
+
+        assert I.signal(values).on(I.Jobs::execute).mapToInt(v -> v).sum() == 500500;
+        assert I.signal(values).on(I.Jobs::execute).mapToLong(v -> v).toArray().length == 1000;
+        assert I.signal(values).on(I.Jobs::execute).mapToDouble(v -> v).max().getAsDouble() == 1000;
+    }
+
+    @Test
+    void errorOnAsynchronousTerminal() {
+        assertThrows(IllegalStateException.class, () -> I.signal(1).on(I.Jobs::execute).mapToInt(v -> {
+            throw new IllegalStateException();
+        }).sum());
+    }
+
+    @Test
+    void toSignal() {
+        assert IntSignal.of(1, 2, 3).boxed().toList().equals(List.of(1, 2, 3));
+        assert LongSignal.of(1, 2).mapToObj(v -> "#" + v).toList().equals(List.of("#1", "#2"));
+    }
+
+    @Test
+    void error() {
+        List<Throwable> errors = new ArrayList();
+        List<Integer> values = new ArrayList();
+        IntSignal.of(1, 2, 3).map(v -> {
+            if (v == 2) throw new IllegalStateException();
+            return v;
+        }).to(values::add, errors::add, null);
+
+        assert values.equals(List.of(1));
+        assert errors.size() == 1;
+        assert errors.get(0) instanceof IllegalStateException;
+    }
+
+    @Test
+    void errorOnTerminal() {
+        assertThrows(IllegalStateException.class, () -> IntSignal.of(1).map(v -> {
+            throw new IllegalStateException();
+        }).sum());
+    }
+
+    @Test
+    void complete() {
+        boolean[] completed = {false};
+        LongSignal.of(1, 2).to(v -> {
+        }, null, () -> completed[0] = true);
+
+        assert completed[0];
+    }
+
+    @Test
+    void dispose() {
+        List<Long> values = new ArrayList();
+        LongSignal.range(0, 10).to(v -> {
+            values.add(v);
+        }).dispose();
+
+        assert values.size() == 10;
+    }
+}
\ No newline at end of file
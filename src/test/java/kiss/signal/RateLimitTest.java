@@ -0,0 +1,202 @@
+/*
+ * Copyright (C) 2024 The SINOBU Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package kiss.signal;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import kiss.Signaling;
+
+class RateLimitTest extends SignalTester {
+
+    @Test
+    void rateLimit() {
+        monitor(1, signal -> signal.rateLimit(1, Duration.ofMillis(100), 1, scheduler));
+
+        assert main.emit("immediately", "delayed", "delayed").value("immediately");
+        scheduler.await();
+        assert main.value("delayed", "delayed");
+    }
+
+    @Test
+    void burst() {
+        monitor(1, signal -> signal.rateLimit(1, Duration.ofMillis(100), 2, scheduler));
+
+        assert main.emit("A", "B", "C").value("A", "B");
+        scheduler.await();
+        assert main.value("C");
+    }
+
+    @Test
+    void rate() {
+        monitor(1, signal -> signal.rateLimit(2, Duration.ofMillis(60), 1, scheduler));
+
+        long start = System.nanoTime();
+        assert main.emit(1, 2, 3, 4).value(1);
+        scheduler.await();
+        assert main.value(2, 3, 4);
+
+        // 3 delayed values need 3 intervals (30ms) at least
+        assert TimeUnit.MILLISECONDS.toNanos(85) <= System.nanoTime() - start;
+    }
+
+    @Test
+    void completeAfterBufferedValues() {
+        Signaling<String> signaling = new Signaling();
+        List<String> events = new ArrayList();
+        signaling.expose.rateLimit(1, Duration.ofMillis(100), 1, scheduler).to(events::add, e -> events.add("error"), () -> events.add("complete"));
+
+        signaling.accept("A");
+        signaling.accept("B");
+        signaling.complete();
+        scheduler.await();
+        assert events.equals(List.of("A", "B", "complete"));
+    }
+
+    @Test
+    void errorImmediately() {
+        Signaling<String> signaling = new Signaling();
+        List<String> events = new ArrayList();
+        signaling.expose.rateLimit(1, Duration.ofMillis(100), 1, scheduler).to(events::add, e -> events.add("error"), () -> events.add("complete"));
+
+        signaling.accept("A");
+        signaling.accept("B");
+        signaling.error(new Error());
+        assert events.equals(List.of("A", "error"));
+
+        scheduler.await();
+        assert events.equals(List.of("A", "error"));
+    }
+
+    @Test
+    void overflow() {
+        monitor(1, signal -> signal.rateLimit(1, Duration.ofMillis(100), 1, 1, false, scheduler));
+
+        assert main.emit("A", "B", "C").value("A");
+        assert main.isError();
+        assert main.isDisposed();
+    }
+
+    @Test
+    void overflowDropOldest() {
+        monitor(1, signal -> signal.rateLimit(1, Duration.ofMillis(100), 1, 2, true, scheduler));
+
+        assert main.emit("A", "B", "C", "D").value("A");
+        scheduler.await();
+        assert main.value("C", "D");
+        assert main.isNotError();
+    }
+
+    @Test
+    void acceptNull() {
+        monitor(1, signal -> signal.rateLimit(1, Duration.ofMillis(100), 1, scheduler));
+
+        assert main.emit(null, null).value((Object) null);
+        scheduler.await();
+        assert main.value((Object) null);
+    }
+
+    @Test
+    void invalidParameter() {
+        monitor(signal -> signal.rateLimit(0, Duration.ofMillis(100), 1));
+        assert main.emit("A", "B").value("A", "B");
+
+        monitor(signal -> signal.rateLimit(1, null, 1));
+        assert main.emit("A", "B").value("A", "B");
+    }
+
+    @Test
+    void defaultScheduler() throws Exception {
+        Signaling<Integer> signaling = new Signaling();
+        List<Integer> values = new CopyOnWriteArrayList();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        signaling.expose.rateLimit(1, Duration.ofMillis(10), 1).to(values::add, e -> {
+        }, latch::countDown);
+        for (int i = 0; i < 5; i++) {
+            signaling.accept(i);
+        }
+        signaling.complete();
+
+        assert values.equals(List.of(0));
+        assert latch.await(3, TimeUnit.SECONDS);
+        assert values.equals(List.of(0, 1, 2, 3, 4));
+    }
+
+    @Test
+    void rateAboveTimerResolution() throws Exception {
+        Signaling<Integer> signaling = new Signaling();
+        List<Integer> values = new CopyOnWriteArrayList();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        // 10000 values per second is finer than the tick of the timing wheel
+        signaling.expose.rateLimit(10000, Duration.ofSeconds(1), 1).to(values::add, e -> {
+        }, latch::countDown);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 3000; i++) {
+            signaling.accept(i);
+        }
+        signaling.complete();
+
+        assert latch.await(3, TimeUnit.SECONDS);
+        assert values.size() == 3000;
+
+        // 2999 delayed values need 300ms at least, losing the lag of each tick would take 3 seconds
+        long elapsed = System.nanoTime() - start;
+        assert TimeUnit.MILLISECONDS.toNanos(290) <= elapsed;
+        assert elapsed < TimeUnit.MILLISECONDS.toNanos(2000);
+    }
+
+    @Test
+    void lateWakeUpKeepsBurst() throws Exception {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        try {
+            Signaling<Integer> signaling = new Signaling();
+            List<Long> times = new CopyOnWriteArrayList();
+            CountDownLatch latch = new CountDownLatch(1);
+
+            signaling.expose.rateLimit(100, Duration.ofSeconds(1), 2, executor).to(v -> times.add(System.nanoTime()), e -> {
+            }, latch::countDown);
+
+            for (int i = 0; i < 20; i++) {
+                signaling.accept(i);
+            }
+            signaling.complete();
+
+            // stall the scheduler, so the first wake-up comes far behind its slot
+            executor.execute(() -> {
+                try {
+                    Thread.sleep(150);
+                } catch (InterruptedException e) {
+                    // ignore
+                }
+            });
+
+            assert latch.await(3, TimeUnit.SECONDS);
+            assert times.size() == 20;
+
+            // the bucket holds 2 tokens, so any 3 consecutive values span one interval (10ms) at least
+            for (int i = 2; i < times.size(); i++) {
+                assert TimeUnit.MILLISECONDS.toNanos(8) <= times.get(i) - times.get(i - 2);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
\ No newline at end of file
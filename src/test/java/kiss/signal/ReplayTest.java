@@ -0,0 +1,197 @@
+/*
+ * Copyright (C) 2024 The SINOBU Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package kiss.signal;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import kiss.I;
+import kiss.Signal;
+import kiss.Signaling;
+import kiss.WiseConsumer;
+
+class ReplayTest extends SignalTester {
+
+    @Test
+    void replay() {
+        Signaling<Integer> source = new Signaling();
+        Signal<Integer> replay = source.expose.replay(2);
+
+        List<Integer> first = replay.toList();
+        source.accept(1);
+        source.accept(2);
+        source.accept(3);
+        assert first.equals(List.of(1, 2, 3));
+
+        List<Integer> late = replay.toList();
+        assert late.equals(List.of(2, 3));
+
+        source.accept(4);
+        assert first.equals(List.of(1, 2, 3, 4));
+        assert late.equals(List.of(2, 3, 4));
+    }
+
+    @Test
+    void replayZero() {
+        Signaling<Integer> source = new Signaling();
+        Signal<Integer> replay = source.expose.replay(0);
+
+        List<Integer> first = replay.toList();
+        source.accept(1);
+
+        List<Integer> late = replay.toList();
+        source.accept(2);
+        assert first.equals(List.of(1, 2));
+        assert late.equals(List.of(2));
+    }
+
+    @Test
+    void replayLargerThanPreallocated() {
+        Signaling<Integer> source = new Signaling();
+        Signal<Integer> replay = source.expose.replay(3000);
+        replay.to(I.NoOP);
+
+        for (int i = 0; i < 5000; i++) {
+            source.accept(i);
+        }
+
+        List<Integer> late = replay.toList();
+        assert late.size() == 3000;
+        assert late.get(0) == 2000;
+        assert late.get(2999) == 4999;
+    }
+
+    @Test
+    void replayByDuration() throws Exception {
+        Signaling<Integer> source = new Signaling();
+        Signal<Integer> replay = source.expose.replay(Duration.ofMillis(100));
+        replay.to(I.NoOP);
+
+        source.accept(1);
+        Thread.sleep(300);
+        source.accept(2);
+
+        assert replay.toList().equals(List.of(2));
+    }
+
+    @Test
+    void replayTerminal() {
+        Signal<Integer> complete = I.signal(1, 2, 3).replay(2);
+        assert complete.toList().equals(List.of(1, 2, 3));
+        assert complete.toList().equals(List.of(2, 3));
+
+        Signal<Integer> error = I.signal(1).concat(I.signalError(new IllegalStateException())).replay(5);
+        List<Throwable> errors = new ArrayList();
+        error.to(I.NoOP, errors::add, I.NoOP);
+        error.to(I.NoOP, errors::add, I.NoOP);
+        assert errors.size() == 2;
+    }
+
+    @Test
+    void subscribeOnce() {
+        AtomicInteger count = new AtomicInteger();
+        Signal<Integer> cache = I.signal(() -> count.incrementAndGet()).cache();
+
+        assert cache.toList().equals(List.of(1));
+        assert cache.toList().equals(List.of(1));
+        assert cache.toList().equals(List.of(1));
+        assert count.get() == 1;
+    }
+
+    @Test
+    void cacheAll() {
+        Signaling<Integer> source = new Signaling();
+        Signal<Integer> cache = source.expose.cache();
+        cache.to(I.NoOP);
+
+        for (int i = 0; i < 2000; i++) {
+            source.accept(i);
+        }
+        source.complete();
+
+        List<Integer> late = cache.toList();
+        assert late.size() == 2000;
+        assert late.get(1999) == 1999;
+    }
+
+    @Test
+    void takeWhileReplaying() {
+        Signal<Integer> cache = I.signal(1, 2, 3).cache();
+
+        assert cache.take(1).toList().equals(List.of(1));
+        assert cache.toList().equals(List.of(1, 2, 3));
+    }
+
+    @Test
+    void concurrentSubscription() throws Exception {
+        Signaling<Integer> source = new Signaling();
+        Signal<Integer> cache = source.expose.cache();
+        cache.to(I.NoOP);
+
+        List<List<Integer>> results = new CopyOnWriteArrayList();
+        Thread emitter = Thread.ofVirtual().start(() -> {
+            for (int i = 0; i < 10000; i++) {
+                source.accept(i);
+            }
+        });
+        for (int i = 0; i < 50; i++) {
+            results.add(cache.toList());
+        }
+        emitter.join();
+
+        for (List<Integer> result : results) {
+            assert result.size() == 10000;
+            for (int i = 0; i < result.size(); i++) {
+                assert result.get(i) == i;
+            }
+        }
+    }
+
+    @Test
+    void failingObserver() {
+        Signaling<Integer> source = new Signaling();
+        Signal<Integer> cache = source.expose.cache();
+        List<Integer> values = new ArrayList();
+        cache.to(v -> {
+            if (v == 2) throw new IllegalStateException();
+        });
+        cache.to(values::add);
+
+        source.accept(1);
+        source.accept(2);
+        source.accept(3);
+        assert values.equals(List.of(1, 2, 3));
+        assert cache.toList().equals(List.of(1, 2, 3));
+    }
+
+    @Test
+    void subscribeFromObserverOnAnotherThread() {
+        Signaling<Integer> source = new Signaling();
+        Signal<Integer> cache = source.expose.cache();
+        List<Integer> nested = new CopyOnWriteArrayList();
+        Thread[] thread = new Thread[1];
+        cache.take(1).to((WiseConsumer<Integer>) v -> {
+            thread[0] = Thread.ofVirtual().start(() -> cache.to(nested::add));
+            thread[0].join(Duration.ofSeconds(5));
+        });
+
+        source.accept(1);
+        assert thread[0].isAlive() == false;
+        assert nested.equals(List.of(1));
+
+        source.accept(2);
+        assert nested.equals(List.of(1, 2));
+    }
+}
\ No newline at end of file
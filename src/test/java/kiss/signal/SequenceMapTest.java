@@ -13,6 +13,8 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
 
@@ -149,4 +151,111 @@ class SequenceMapTest extends SignalTester {
         assert main.isNotCompleted();
         assert main.isDisposed();
     }
+
+    @Test
+    void boundedValue() {
+        monitor(Integer.class, signal -> signal.sequenceMap(v -> signal(v, v + 1), 2, 4));
+
+        assert main.emit(10, 20, 30).value(10, 11, 20, 21, 30, 31);
+        assert main.emit(Complete).value();
+        assert main.isCompleted();
+        assert main.isDisposed();
+    }
+
+    @Test
+    void boundedOrder() {
+        List<Integer> internalProcess = new ArrayList();
+
+        monitor(1, Integer.class, signal -> signal
+                .sequenceMap(time -> signal(time, time + 50).delay(time, ms, scheduler).effect(internalProcess::add), 3, 2));
+
+        main.emit(300, 200, 100);
+        scheduler.await();
+        assert main.value(300, 350, 200, 250, 100, 150);
+        assert internalProcess.get(0) == 100;
+        assert internalProcess.get(5) == 350;
+    }
+
+    @Test
+    void boundedConcurrency() {
+        List<Signaling<Integer>> inners = new ArrayList();
+
+        monitor(1, Integer.class, signal -> signal.sequenceMap(v -> {
+            Signaling<Integer> inner = new Signaling();
+            inners.add(inner);
+            return inner.expose;
+        }, 2, 4));
+
+        main.emit(1, 2, 3, 4);
+        assert inners.size() == 2;
+
+        inners.get(1).accept(20);
+        inners.get(0).accept(10);
+        assert main.value(10);
+
+        inners.get(0).complete();
+        assert main.value(20);
+        assert inners.size() == 3;
+
+        inners.get(2).accept(30);
+        inners.get(1).complete();
+        assert main.value(30);
+        assert inners.size() == 4;
+
+        inners.get(2).complete();
+        inners.get(3).complete();
+        main.emit(Complete);
+        assert main.isCompleted();
+    }
+
+    @Test
+    void boundedPrefetch() {
+        List<Integer> large = IntStream.range(0, 10000).boxed().toList();
+        AtomicInteger pulled = new AtomicInteger();
+
+        List<Integer> result = I.signal(1, 2)
+                .sequenceMap(v -> I.signal(large).effect(x -> pulled.incrementAndGet()), 2, 8)
+                .take(5)
+                .toList();
+
+        assert result.equals(List.of(0, 1, 2, 3, 4));
+        assert pulled.get() < 50;
+    }
+
+    @Test
+    void boundedDemandAwareSource() {
+        AtomicInteger subscribed = new AtomicInteger();
+        List<Integer> large = IntStream.range(0, 10000).boxed().toList();
+
+        List<Integer> result = I.signal(large).sequenceMap(v -> {
+            subscribed.incrementAndGet();
+            return I.signal(v);
+        }, 4, 1).take(10).toList();
+
+        assert result.equals(large.subList(0, 10));
+        assert subscribed.get() < 20;
+    }
+
+    @Test
+    void boundedAfterAggregation() {
+        List<Integer> source = IntStream.range(0, 20).boxed().toList();
+
+        assert I.signal(source).last().sequenceMap(x -> I.signal(x), 4, 4).toList().equals(List.of(19));
+        assert I.signal(source).skipWhile(x -> x < 15).sequenceMap(x -> I.signal(x), 4, 4).toList().equals(List.of(15, 16, 17, 18, 19));
+        assert I.signal(source).buffer().sequenceMap(x -> I.signal(x), 4, 4).toList().equals(source);
+    }
+
+    @Test
+    void boundedErrorOnce() {
+        List<Throwable> errors = new ArrayList();
+        List<String> completes = new ArrayList();
+
+        I.signal(1, 2, 3).sequenceMap(v -> {
+            if (v != 1) throw new IllegalStateException();
+            return I.signal(v);
+        }, 1, 1).to(I.NoOP, errors::add, () -> completes.add("complete"));
+
+        assert errors.size() == 1;
+        assert completes.isEmpty();
+    }
 }
\ No newline at end of file
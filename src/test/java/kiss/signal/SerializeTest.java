@@ -0,0 +1,188 @@
+/*
+ * Copyright (C) 2024 The SINOBU Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package kiss.signal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+import org.junit.jupiter.api.Test;
+
+import kiss.I;
+import kiss.Signal;
+import kiss.Signaling;
+
+class SerializeTest extends SignalTester {
+
+    @Test
+    void serialize() {
+        monitor(signal -> signal.serialize());
+
+        assert main.emit(1, 2, 3).value(1, 2, 3);
+        assert main.isNotCompleted();
+        assert main.isNotDisposed();
+    }
+
+    @Test
+    void acceptNull() {
+        monitor(signal -> signal.serialize());
+
+        assert main.emit("A", null, "B").value("A", null, "B");
+    }
+
+    @Test
+    void complete() {
+        monitor(signal -> signal.serialize());
+
+        assert main.emit(1, Complete).value(1);
+        assert main.isCompleted();
+        assert main.isDisposed();
+    }
+
+    @Test
+    void error() {
+        monitor(signal -> signal.serialize());
+
+        assert main.emit(1, Error).value(1);
+        assert main.isError();
+        assert main.isDisposed();
+    }
+
+    @Test
+    void reentrant() {
+        Signaling<Integer> signaling = new Signaling();
+        List<Integer> values = new ArrayList();
+
+        signaling.expose.serialize().to(v -> {
+            values.add(v);
+            // the nested emission is queued until the current one finishes
+            if (v == 1) signaling.accept(2);
+            values.add(-v);
+        });
+        signaling.accept(1);
+
+        assert values.equals(List.of(1, -1, 2, -2));
+    }
+
+    @Test
+    void concurrent() throws Exception {
+        Signaling<Integer> signaling = new Signaling();
+        AtomicInteger inside = new AtomicInteger();
+        AtomicInteger overlapped = new AtomicInteger();
+        int[] count = new int[1];
+
+        signaling.expose.serialize().to(v -> {
+            if (inside.incrementAndGet() != 1) overlapped.incrementAndGet();
+            count[0]++; // unsynchronized on purpose
+            inside.decrementAndGet();
+        });
+
+        emitConcurrently(8, 5000, signaling::accept);
+
+        assert overlapped.get() == 0;
+        assert count[0] == 8 * 5000;
+    }
+
+    @Test
+    void keepOrderPerThread() throws Exception {
+        Signaling<int[]> signaling = new Signaling();
+        int[] latest = new int[4];
+        Arrays.fill(latest, -1);
+        AtomicInteger disorder = new AtomicInteger();
+
+        signaling.expose.serialize().to(v -> {
+            if (v[1] != latest[v[0]] + 1) disorder.incrementAndGet();
+            latest[v[0]] = v[1];
+        });
+
+        CountDownLatch latch = new CountDownLatch(4);
+        for (int t = 0; t < 4; t++) {
+            int thread = t;
+            Thread.ofVirtual().start(() -> {
+                for (int i = 0; i < 5000; i++) {
+                    signaling.accept(new int[] {thread, i});
+                }
+                latch.countDown();
+            });
+        }
+        latch.await();
+
+        assert disorder.get() == 0;
+    }
+
+    @Test
+    void mergeSerialized() throws Exception {
+        Signaling<Integer> one = new Signaling();
+        Signaling<Integer> two = new Signaling();
+        AtomicInteger inside = new AtomicInteger();
+        AtomicInteger overlapped = new AtomicInteger();
+        List<Integer> values = new ArrayList();
+        CountDownLatch completed = new CountDownLatch(1);
+
+        one.expose.mergeSerialized(two.expose).to(v -> {
+            if (inside.incrementAndGet() != 1) overlapped.incrementAndGet();
+            values.add(v);
+            inside.decrementAndGet();
+        }, e -> {
+        }, completed::countDown);
+
+        Thread a = Thread.ofVirtual().start(() -> {
+            for (int i = 0; i < 10000; i++) {
+                one.accept(i);
+            }
+            one.complete();
+        });
+        Thread b = Thread.ofVirtual().start(() -> {
+            for (int i = 0; i < 10000; i++) {
+                two.accept(i);
+            }
+            two.complete();
+        });
+        a.join();
+        b.join();
+
+        assert completed.getCount() == 0;
+        assert overlapped.get() == 0;
+        assert values.size() == 20000;
+    }
+
+    @Test
+    void mergeSerializedIgnoreNull() {
+        assert I.signal(1, 2).mergeSerialized((Signal) null, I.signal(3)).toList().equals(List.of(1, 2, 3));
+    }
+
+    /**
+     * Emit values from the multiple threads at the same time.
+     */
+    private void emitConcurrently(int threads, int count, IntConsumer emitter) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch end = new CountDownLatch(threads);
+
+        for (int t = 0; t < threads; t++) {
+            Thread.ofPlatform().start(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < count; i++) {
+                        emitter.accept(i);
+                    }
+                } catch (InterruptedException e) {
+                    throw I.quiet(e);
+                } finally {
+                    end.countDown();
+                }
+            });
+        }
+        start.countDown();
+        end.await();
+    }
+}
\ No newline at end of file
@@ -16,6 +16,7 @@ import java.util.concurrent.CopyOnWriteArrayList;
 import org.junit.jupiter.api.Test;
 
 import kiss.Disposable;
+import kiss.I;
 import kiss.Observer;
 import kiss.Signal;
 
@@ -161,4 +162,50 @@ class ShareTest extends SignalTester {
         assert main.isDisposed();
     }
 
+
+    @Test
+    void connectOutsideMonitor() {
+        List<String> result = new CopyOnWriteArrayList();
+        Signal<String>[] shared = new Signal[1];
+        shared[0] = new Signal<String>((observer, disposer) -> {
+            // subscribe from another thread while connecting
+            Thread thread = Thread.ofVirtual().start(() -> shared[0].to(result::add));
+            try {
+                thread.join(3000);
+            } catch (InterruptedException e) {
+                throw I.quiet(e);
+            }
+            observer.accept("ONE");
+            return disposer;
+        }).share();
+
+        shared[0].to(result::add);
+        assert result.equals(List.of("ONE", "ONE"));
+    }
+
+    @Test
+    void concurrentSubscription() throws Exception {
+        List<Observer<String>> observers = new CopyOnWriteArrayList();
+        Signal<String> source = new Signal(observers).share();
+
+        List<Thread> threads = new ArrayList();
+        for (int i = 0; i < 8; i++) {
+            threads.add(Thread.ofVirtual().start(() -> {
+                for (int j = 0; j < 2000; j++) {
+                    source.to(v -> {
+                    }).dispose();
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assert observers.isEmpty();
+
+        List<String> result = new ArrayList();
+        source.to(result::add);
+        observers.forEach(o -> o.accept("ONE"));
+        assert observers.size() == 1;
+        assert result.equals(List.of("ONE"));
+    }
 }
\ No newline at end of file
@@ -15,6 +15,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 
+import kiss.Disposable;
 import kiss.I;
 import kiss.Signaling;
 
@@ -72,4 +73,117 @@ class SignalingTest {
         signaling.complete();
         assert completes.get() == 1;
     }
+
+    @Test
+    void manyObservers() {
+        Signaling<String> signaling = new Signaling();
+        List<List<String>> results = new ArrayList();
+        for (int i = 0; i < 100; i++) {
+            results.add(signaling.expose.toList());
+        }
+
+        signaling.accept("ALL");
+        for (List<String> result : results) {
+            assert result.equals(List.of("ALL"));
+        }
+    }
+
+    @Test
+    void disposedObservers() {
+        Signaling<String> signaling = new Signaling();
+        List<String> values = new ArrayList();
+        List<Disposable> disposers = new ArrayList();
+        for (int i = 0; i < 40; i++) {
+            disposers.add(signaling.expose.to(values::add));
+        }
+        disposers.forEach(Disposable::dispose);
+
+        signaling.accept("NONE");
+        assert values.isEmpty();
+
+        for (int i = 0; i < 1000; i++) {
+            signaling.expose.to(values::add).dispose();
+        }
+        signaling.expose.to(values::add);
+
+        signaling.accept("ONE");
+        assert values.equals(List.of("ONE"));
+    }
+
+    @Test
+    void subscriptionOrder() {
+        Signaling<String> signaling = new Signaling();
+        List<String> values = new ArrayList();
+        Disposable a = signaling.expose.to(v -> values.add("A"));
+        signaling.expose.to(v -> values.add("B"));
+        a.dispose();
+        signaling.expose.to(v -> values.add("C"));
+
+        signaling.accept("VALUE");
+        assert values.equals(List.of("B", "C"));
+    }
+
+    @Test
+    void subscriptionOrderAcrossChunks() {
+        Signaling<Integer> signaling = new Signaling();
+        List<Integer> values = new ArrayList();
+        List<Disposable> disposers = new ArrayList();
+        for (int i = 0; i < 100; i++) {
+            int id = i;
+            disposers.add(signaling.expose.to(v -> values.add(id)));
+        }
+        for (int i = 0; i < 100; i += 2) {
+            disposers.get(i).dispose();
+        }
+        for (int i = 100; i < 120; i++) {
+            int id = i;
+            signaling.expose.to(v -> values.add(id));
+        }
+
+        signaling.accept(0);
+        List<Integer> expected = new ArrayList();
+        for (int i = 1; i < 100; i += 2) {
+            expected.add(i);
+        }
+        for (int i = 100; i < 120; i++) {
+            expected.add(i);
+        }
+        assert values.equals(expected);
+    }
+
+    @Test
+    void observerAddedWhileNotifying() {
+        Signaling<String> signaling = new Signaling();
+        List<String> values = new ArrayList();
+        signaling.expose.take(1).to(v -> signaling.expose.to(values::add));
+
+        signaling.accept("IGNORED");
+        assert values.isEmpty();
+
+        signaling.accept("ACCEPTED");
+        assert values.equals(List.of("ACCEPTED"));
+    }
+
+    @Test
+    void concurrentChurn() throws Exception {
+        Signaling<String> signaling = new Signaling();
+        AtomicInteger count = new AtomicInteger();
+        signaling.expose.to(v -> count.incrementAndGet());
+
+        List<Thread> threads = new ArrayList();
+        for (int i = 0; i < 4; i++) {
+            threads.add(Thread.ofVirtual().start(() -> {
+                for (int j = 0; j < 10000; j++) {
+                    signaling.expose.to(v -> {
+                    }).dispose();
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        signaling.accept("VALUE");
+        assert count.get() == 1;
+    }
 }
\ No newline at end of file
@@ -9,10 +9,18 @@
  */
 package kiss.signal;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
 
 import org.junit.jupiter.api.Test;
 
+import kiss.I;
+import kiss.sample.bean.Person;
+
 class SortTest extends SignalTester {
 
     @Test
@@ -51,4 +59,105 @@ class SortTest extends SignalTester {
         assert main.isCompleted();
         assert main.isDisposed();
     }
+
+    @Test
+    void external() {
+        monitor(Integer.class, signal -> signal.sort(Comparator.naturalOrder(), 2, Integer.class));
+
+        assert main.emit(5, 2, 3, 1, 4).value();
+        assert main.emit(Complete).value(1, 2, 3, 4, 5);
+        assert main.isCompleted();
+        assert main.isDisposed();
+    }
+
+    @Test
+    void externalLarge() {
+        Random random = new Random(1);
+        List<Integer> values = new ArrayList();
+        for (int i = 0; i < 10000; i++) {
+            values.add(random.nextInt());
+        }
+        List<Integer> sorted = new ArrayList(values);
+        Collections.sort(sorted);
+
+        assert I.signal(values).sort(Comparator.naturalOrder(), 777, Integer.class).toList().equals(sorted);
+    }
+
+    @Test
+    void externalText() {
+        List<String> sorted = I.signal("c", "a", "d", "b", "e").sort(Comparator.reverseOrder(), 2, String.class).toList();
+
+        assert sorted.equals(List.of("e", "d", "c", "b", "a"));
+    }
+
+    @Test
+    void externalModel() {
+        List<Person> people = new ArrayList();
+        for (int i = 0; i < 10; i++) {
+            Person person = new Person();
+            person.setAge(i % 3);
+            person.setFirstName("P" + i);
+            people.add(person);
+        }
+
+        // the order of equal items is preserved
+        List<String> names = I.signal(people).sort(Comparator.comparingInt(Person::getAge), 3, Person.class).map(Person::getFirstName).toList();
+        assert names.equals(List.of("P0", "P3", "P6", "P9", "P1", "P4", "P7", "P2", "P5", "P8"));
+    }
+
+    @Test
+    void externalNull() {
+        List<Integer> sorted = I.signal(3, null, 1, null, 2).sort(Comparator.nullsFirst(Comparator.naturalOrder()), 2, Integer.class).toList();
+
+        assert sorted.equals(Arrays.asList(null, null, 1, 2, 3));
+    }
+
+    @Test
+    void externalError() {
+        monitor(Integer.class, signal -> signal.sort(Comparator.naturalOrder(), 2, Integer.class));
+
+        assert main.emit(3, 2, 1, Error).value();
+        assert main.isError();
+        assert main.isDisposed();
+    }
+
+    @Test
+    void externalInMemory() {
+        assert I.signal(3, 1, 2).sort(Comparator.naturalOrder(), 0, Integer.class).toList().equals(List.of(1, 2, 3));
+    }
+
+    @Test
+    void externalMultiPass() {
+        Random random = new Random(1);
+        List<Integer> values = new ArrayList();
+        for (int i = 0; i < 10000; i++) {
+            values.add(random.nextInt());
+        }
+        List<Integer> sorted = new ArrayList(values);
+        Collections.sort(sorted);
+
+        // 1429 runs are merged in multiple passes
+        assert I.signal(values).sort(Comparator.naturalOrder(), 7, Integer.class).toList().equals(sorted);
+    }
+
+    @Test
+    void externalMultiPassKeepsOrder() {
+        List<Person> people = new ArrayList();
+        for (int i = 0; i < 300; i++) {
+            Person person = new Person();
+            person.setAge(i % 3);
+            person.setFirstName("P" + i);
+            people.add(person);
+        }
+
+        List<String> expected = new ArrayList();
+        for (int age = 0; age < 3; age++) {
+            for (int i = age; i < 300; i += 3) {
+                expected.add("P" + i);
+            }
+        }
+
+        List<String> names = I.signal(people).sort(Comparator.comparingInt(Person::getAge), 1, Person.class).map(Person::getFirstName).toList();
+        assert names.equals(expected);
+    }
 }
\ No newline at end of file
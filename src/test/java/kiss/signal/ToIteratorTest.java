@@ -0,0 +1,178 @@
+/*
+ * Copyright (C) 2024 The SINOBU Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package kiss.signal;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import kiss.I;
+import kiss.Signal;
+import kiss.Signaling;
+
+class ToIteratorTest extends SignalTester {
+
+    @Test
+    void iterator() {
+        Iterator<Integer> iterator = I.signal(1, 2, 3).toIterator(2);
+
+        assert iterator.hasNext();
+        assert iterator.next() == 1;
+        assert iterator.next() == 2;
+        assert iterator.next() == 3;
+        assert iterator.hasNext() == false;
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    @Test
+    void empty() {
+        assert I.signal().toIterator(2).hasNext() == false;
+    }
+
+    @Test
+    void acceptNull() {
+        List<String> values = new ArrayList();
+        I.signal("A", null, "B").toIterator(1).forEachRemaining(values::add);
+
+        assert values.equals(Arrays.asList("A", null, "B"));
+    }
+
+    @Test
+    void error() {
+        Iterator<Integer> iterator = I.signal(1).concat(I.signalError(new IllegalStateException())).toIterator(4);
+
+        assert iterator.next() == 1;
+        assertThrows(IllegalStateException.class, iterator::hasNext);
+        assert iterator.hasNext() == false;
+    }
+
+    @Test
+    void hotSource() {
+        Signaling<Integer> signaling = new Signaling();
+        Iterator<Integer> iterator = signaling.expose.toIterator(4);
+
+        signaling.accept(1);
+        signaling.accept(2);
+        signaling.complete();
+
+        assert iterator.next() == 1;
+        assert iterator.next() == 2;
+        assert iterator.hasNext() == false;
+    }
+
+    @Test
+    void prefetch() throws Exception {
+        AtomicInteger emitted = new AtomicInteger();
+        Iterator<Integer> iterator = I.signal(IntStream.range(0, 1000).boxed().toList()).effect(emitted::incrementAndGet).toIterator(10);
+
+        assert iterator.next() == 0;
+        Thread.sleep(50);
+        assert emitted.get() <= 11;
+    }
+
+    @Test
+    void pushSource() {
+        Signaling<Integer> signaling = new Signaling();
+        Iterator<Integer> iterator = signaling.expose.toIterator(2);
+
+        Thread.ofVirtual().start(() -> {
+            for (int i = 0; i < 100; i++) {
+                signaling.accept(i);
+            }
+            signaling.complete();
+        });
+
+        int sum = 0;
+        while (iterator.hasNext()) {
+            sum += iterator.next();
+        }
+        assert sum == 4950;
+    }
+
+    @Test
+    void sourceIgnoresDemand() {
+        Signal<Integer> signal = new Signal<>((observer, disposer) -> {
+            for (int i = 0; i < 100 && !disposer.isDisposed(); i++) {
+                observer.accept(i);
+            }
+            observer.complete();
+            return disposer;
+        });
+
+        int count = 0;
+        Iterator<Integer> iterator = signal.toIterator(2);
+        while (iterator.hasNext()) {
+            assert iterator.next() == count++;
+        }
+        assert count == 100;
+    }
+
+    @Test
+    void stream() {
+        assert I.signal(1, 2, 3).toStream().map(v -> v * 10).toList().equals(List.of(10, 20, 30));
+    }
+
+    @Test
+    void streamLarge() {
+        Signal<Integer> signal = I.signal(IntStream.range(0, 100000).boxed().toList());
+
+        assert signal.toStream().mapToLong(v -> v).sum() == 4999950000L;
+    }
+
+    @Test
+    void streamCloseDisposesUpstream() {
+        AtomicBoolean disposed = new AtomicBoolean();
+
+        try (Stream<Integer> stream = I.signal(IntStream.range(0, 1000).boxed().toList()).effectOnDispose(() -> disposed.set(true)).toStream()) {
+            assert stream.limit(3).toList().equals(List.of(0, 1, 2));
+        }
+        assert disposed.get();
+    }
+
+    @Test
+    void afterAggregation() {
+        List<Integer> values = new ArrayList();
+        I.signal(IntStream.range(1, 21).boxed().toList()).last().toIterator(4).forEachRemaining(values::add);
+
+        assert values.equals(List.of(20));
+    }
+
+    @Test
+    void interruptedSource() {
+        Thread[] producer = new Thread[1];
+        Signal<Integer> signal = new Signal<>((observer, disposer) -> {
+            producer[0] = Thread.currentThread();
+            for (int i = 0; !disposer.isDisposed(); i++) {
+                observer.accept(i);
+            }
+            return disposer;
+        });
+
+        Iterator<Integer> iterator = signal.toIterator(2);
+        producer[0].interrupt();
+
+        assertThrows(InterruptedException.class, () -> {
+            while (iterator.hasNext()) {
+                iterator.next();
+            }
+        });
+        assert iterator.hasNext() == false;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,181 @@
+/*
+ * Copyright (C) 2024 The SINOBU Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package kiss.signal;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import kiss.I;
+import kiss.Signaling;
+import kiss.Window;
+
+class WindowTest extends SignalTester {
+
+    @Test
+    void sum() {
+        assert I.signal(1, 2, 3, 4, 5).window(3, v -> v).map(Window::sum).toList().equals(List.of(1d, 3d, 6d, 9d, 12d));
+    }
+
+    @Test
+    void count() {
+        assert I.signal(1, 2, 3, 4, 5).window(3, v -> v).map(Window::count).toList().equals(List.of(1, 2, 3, 3, 3));
+    }
+
+    @Test
+    void average() {
+        assert I.signal(2, 4, 6, 8).window(2, v -> v).map(Window::average).toList().equals(List.of(2d, 3d, 5d, 7d));
+    }
+
+    @Test
+    void min() {
+        assert I.signal(5, 3, 4, 6, 7, 1).window(3, v -> v).map(Window::min).toList().equals(List.of(5d, 3d, 3d, 3d, 4d, 1d));
+    }
+
+    @Test
+    void max() {
+        assert I.signal(5, 3, 4, 6, 7, 1).window(3, v -> v).map(Window::max).toList().equals(List.of(5d, 5d, 5d, 6d, 7d, 7d));
+    }
+
+    @Test
+    void quantile() {
+        assert I.signal(5, 1, 4, 2, 3).window(5, v -> v).map(w -> w.quantile(0.5)).toList().equals(List.of(5d, 1d, 4d, 2d, 3d));
+        assert I.signal(5, 1, 4, 2, 3).window(5, v -> v).map(w -> w.quantile(1)).toList().equals(List.of(5d, 5d, 5d, 5d, 5d));
+        assert I.signal(5, 1, 4, 2, 3).window(5, v -> v).map(w -> w.quantile(0)).toList().equals(List.of(5d, 1d, 1d, 1d, 1d));
+    }
+
+    @Test
+    void sizeZero() {
+        assert I.signal(1, 2, 3).window(0, v -> v).map(Window::sum).toList().equals(List.of(1d, 2d, 3d));
+    }
+
+    @Test
+    void largeWindow() {
+        Random random = new Random(7);
+        int size = 3000;
+        Deque<Double> expected = new ArrayDeque();
+        Signaling<Double> signaling = new Signaling();
+        Window[] latest = new Window[1];
+        signaling.expose.window(size, v -> v).to(w -> latest[0] = w);
+
+        for (int i = 0; i < 10000; i++) {
+            double value = random.nextInt(100000);
+            signaling.accept(value);
+            expected.addLast(value);
+            if (expected.size() > size) expected.removeFirst();
+
+            if (i % 997 == 0) {
+                assert latest[0].count() == expected.size();
+                assert latest[0].sum() == expected.stream().mapToDouble(v -> v).sum();
+                assert latest[0].min() == expected.stream().mapToDouble(v -> v).min().getAsDouble();
+                assert latest[0].max() == expected.stream().mapToDouble(v -> v).max().getAsDouble();
+                assert latest[0].latest() == value;
+            }
+        }
+    }
+
+    @Test
+    void quantileOnSlidingWindow() {
+        Random random = new Random(7);
+        int size = 3000;
+        Deque<Double> expected = new ArrayDeque();
+        Signaling<Double> signaling = new Signaling();
+        Window[] latest = new Window[1];
+        signaling.expose.window(size, v -> v).to(w -> latest[0] = w);
+
+        for (int i = 0; i < 10000; i++) {
+            // many duplicates
+            double value = random.nextInt(500);
+            signaling.accept(value);
+            expected.addLast(value);
+            if (expected.size() > size) expected.removeFirst();
+
+            // the sorted values are maintained incrementally after the first query
+            double median = latest[0].quantile(0.5);
+
+            if (i % 997 == 0) {
+                double[] sorted = expected.stream().mapToDouble(v -> v).sorted().toArray();
+                assert median == sorted[(int) Math.ceil(0.5 * sorted.length) - 1];
+                assert latest[0].quantile(0.99) == sorted[(int) Math.ceil(0.99 * sorted.length) - 1];
+                assert latest[0].quantile(0) == sorted[0];
+                assert latest[0].quantile(1) == sorted[sorted.length - 1];
+            }
+        }
+    }
+
+    @Test
+    void sameInstance() {
+        List<Window> windows = I.signal(1, 2, 3).window(2, v -> v).toList();
+        assert windows.get(0) == windows.get(2);
+        assert windows.get(0).sum() == 5;
+    }
+
+    @Test
+    void snapshot() {
+        List<Window> windows = I.signal(1, 2, 3).window(2, v -> v).map(Window::snapshot).toList();
+        assert windows.get(0).sum() == 1;
+        assert windows.get(1).sum() == 3;
+        assert windows.get(2).sum() == 5;
+        assert windows.get(2).min() == 2;
+        assert windows.get(2).quantile(1) == 3;
+    }
+
+    @Test
+    void snapshotIsNotAffectedBySlide() {
+        Signaling<Integer> signaling = new Signaling();
+        Window[] latest = new Window[1];
+        signaling.expose.window(3, v -> v).to(w -> latest[0] = w);
+
+        signaling.accept(1);
+        signaling.accept(5);
+        latest[0].quantile(0.5);
+        Window snapshot = latest[0].snapshot();
+
+        signaling.accept(9);
+        signaling.accept(7);
+        assert snapshot.count() == 2;
+        assert snapshot.max() == 5;
+        assert snapshot.latest() == 5;
+        assert snapshot.quantile(0.5) == 1;
+        assert latest[0].quantile(0.5) == 7;
+    }
+
+    @Test
+    void duration() throws Exception {
+        Signaling<Integer> signaling = new Signaling();
+        Window[] latest = new Window[1];
+        signaling.expose.window(Duration.ofMillis(100), v -> v).to(w -> latest[0] = w);
+
+        signaling.accept(10);
+        signaling.accept(20);
+        assert latest[0].count() == 2;
+        assert latest[0].max() == 20;
+
+        Thread.sleep(200);
+        signaling.accept(5);
+        assert latest[0].count() == 1;
+        assert latest[0].sum() == 5;
+        assert latest[0].max() == 5;
+    }
+
+    @Test
+    void error() {
+        monitor(Integer.class, Double.class, signal -> signal.window(3, v -> v).map(Window::sum));
+
+        assert main.emit(1, 2).value(1d, 3d);
+        assert main.emit(Error).value();
+        assert main.isError();
+        assert main.isDisposed();
+    }
+}
\ No newline at end of file
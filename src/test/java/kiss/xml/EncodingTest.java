@@ -47,6 +47,61 @@ class EncodingTest {
         assert xml.find("title").text().equals("てすと");
     }
 
+    @Test
+    void htmlEncodingHttpEquiv() throws Exception {
+        XML xml = parse("<html><head><meta http-equiv='Content-Type' content='text/html; charset=Shift_JIS'><title>てすと</title></head></html>", "shift_jis");
+
+        assert xml.find("title").text().equals("てすと");
+    }
+
+    @Test
+    void htmlEncodingInComment() throws Exception {
+        XML xml = parse("<html><head><!-- <meta charset='euc-jp'> --><title>てすと</title></head></html>", "utf-8");
+
+        assert xml.find("title").text().equals("てすと");
+    }
+
+    @Test
+    void htmlEncodingBOM() throws Exception {
+        byte[] bytes = "<html><head><meta charset='euc-jp'><title>てすと</title></head></html>".getBytes(StandardCharsets.UTF_8);
+        byte[] withBOM = new byte[bytes.length + 3];
+        withBOM[0] = (byte) 0xEF;
+        withBOM[1] = (byte) 0xBB;
+        withBOM[2] = (byte) 0xBF;
+        System.arraycopy(bytes, 0, withBOM, 3, bytes.length);
+
+        XML xml = I.xml(new ByteArrayInputStream(withBOM));
+        assert xml.find("title").text().equals("てすと");
+    }
+
+    @Test
+    void htmlEncodingInScript() throws Exception {
+        XML xml = parse("<html><head><script>document.write(\"<meta charset='euc-jp'>\");</script><title>てすと</title></head></html>", "utf-8");
+
+        assert xml.find("title").text().equals("てすと");
+    }
+
+    @Test
+    void htmlEncodingInStyle() throws Exception {
+        XML xml = parse("<html><head><style>/* <meta charset='euc-jp'> */</style><title>てすと</title></head></html>", "utf-8");
+
+        assert xml.find("title").text().equals("てすと");
+    }
+
+    @Test
+    void htmlEncodingAfterScript() throws Exception {
+        XML xml = parse("<html><head><script>var a = 1 < 2;</script><meta charset='euc-jp'><title>てすと</title></head></html>", "euc-jp");
+
+        assert xml.find("title").text().equals("てすと");
+    }
+
+    @Test
+    void htmlEncodingBeyondPrescan() throws Exception {
+        XML xml = parse("<html><head><!--" + "-".repeat(1024) + "--><meta charset='euc-jp'><title>てすと</title></head></html>", "utf-8");
+
+        assert xml.find("title").text().equals("てすと");
+    }
+
     /**
      * Parse with encoding.
      */
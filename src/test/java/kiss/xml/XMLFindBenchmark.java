@@ -0,0 +1,40 @@
+/*
+ * Copyright (C) 2024 The SINOBU Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package kiss.xml;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+
+import antibug.profiler.Benchmark;
+import kiss.I;
+import kiss.XML;
+
+public class XMLFindBenchmark {
+
+    private static final String html = "<html><body>" + ("<section>" + "<p class='item'>text</p>".repeat(100) + "</section>")
+            .repeat(200) + "</body></html>";
+
+    public static void main(String[] args) {
+        Benchmark benchmark = new Benchmark().visualize();
+
+        // 20000 matches from 200 context nodes
+        XML sinobu = I.xml(html).find("section");
+        benchmark.measure("Sinobu", () -> {
+            return sinobu.element("p").parent().size();
+        });
+
+        Document jsoup = Jsoup.parse(html);
+        benchmark.measure("Jsoup", () -> {
+            return jsoup.select("section").select("p").parents().size();
+        });
+
+        benchmark.perform();
+    }
+}
\ No newline at end of file
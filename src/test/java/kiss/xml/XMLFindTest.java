@@ -141,6 +141,37 @@ public class XMLFindTest {
         }
     }
 
+    @Test
+    public void uniqueFromOverlappedContexts() {
+        XML root = I.xml("""
+                <root>
+                    <a id="1">
+                        <a id="2">
+                            <b id="3"/>
+                        </a>
+                        <b id="4"/>
+                    </a>
+                </root>
+                """);
+
+        XML found = root.find("a").find("b");
+        assert found.size() == 2;
+        assert found.first().attr("id").equals("3");
+        assert found.last().attr("id").equals("4");
+
+        assert root.find("a").element("b").size() == 2;
+        assert root.find("b").parent().size() == 2;
+    }
+
+    @Test
+    public void manyMatches() {
+        XML root = I.xml("<root>" + ("<a>" + "<b/>".repeat(100) + "</a>").repeat(100) + "</root>");
+
+        assert root.find("a").find("b").size() == 10000;
+        assert root.find("a").element("b").size() == 10000;
+        assert root.find("b").parent().size() == 100;
+    }
+
     /**
      * <p>
      * Format to human-redable text for display when assertion is fail..
@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2024 The SINOBU Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package kiss.xml;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import antibug.profiler.Benchmark;
+import kiss.I;
+import kiss.XML;
+
+public class XMLMappingBenchmark {
+
+    private static final XML xml = I.xml("""
+            <group>
+                <member name="Ada" age="20" active="true"/>
+                <member name="BrainCrash" age="21" active="false"/>
+                <member name="COBOL" age="22" active="true"/>
+                <member name="Delphi" age="23" active="false"/>
+            </group>
+            """);
+
+    public static void main(String[] args) {
+        Benchmark benchmark = new Benchmark().visualize().trial(5);
+
+        benchmark.measure("Model", () -> {
+            return xml.as(Group.class);
+        });
+
+        benchmark.measure("Handwritten", () -> {
+            Group group = new Group();
+            for (XML member : xml.find("member")) {
+                Person person = new Person();
+                person.name = member.attr("name");
+                person.age = Integer.parseInt(member.attr("age"));
+                person.active = Boolean.parseBoolean(member.attr("active"));
+                group.member.add(person);
+            }
+            return group;
+        });
+
+        benchmark.perform();
+    }
+
+    /**
+     * 
+     */
+    public static class Person {
+        public String name;
+
+        public int age;
+
+        public boolean active;
+    }
+
+    /**
+     * 
+     */
+    public static class Group {
+        public List<Person> member = new ArrayList();
+    }
+}
\ No newline at end of file
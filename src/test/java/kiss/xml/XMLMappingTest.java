@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2024 The SINOBU Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package kiss.xml;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import kiss.I;
+import kiss.XML;
+import kiss.sample.bean.Person;
+import kiss.sample.bean.School;
+import kiss.sample.bean.Student;
+import kiss.sample.bean.StringListProperty;
+import kiss.sample.bean.StringMapProperty;
+
+public class XMLMappingTest {
+
+    @Test
+    public void attribute() {
+        Person person = I.xml("<person firstName='Ada' lastName='Lovelace' age='36'/>").as(Person.class);
+
+        assert person.getFirstName().equals("Ada");
+        assert person.getLastName().equals("Lovelace");
+        assert person.getAge() == 36;
+    }
+
+    @Test
+    public void element() {
+        Person person = I.xml("<person><firstName>Ada</firstName><age>36</age></person>").as(Person.class);
+
+        assert person.getFirstName().equals("Ada");
+        assert person.getLastName() == null;
+        assert person.getAge() == 36;
+    }
+
+    @Test
+    public void unknown() {
+        Person person = I.xml("<person unknown='value'><firstName>Ada</firstName><none/></person>").as(Person.class);
+
+        assert person.getFirstName().equals("Ada");
+    }
+
+    @Test
+    public void nest() {
+        Student student = I.xml("<student firstName='Ada'><school name='Analytical'/></student>").as(Student.class);
+
+        assert student.getFirstName().equals("Ada");
+        assert student.getSchool().getName().equals("Analytical");
+    }
+
+    @Test
+    public void list() {
+        School school = I.xml("<school name='S'><students firstName='A'/><students firstName='B'/></school>").as(School.class);
+
+        assert school.getName().equals("S");
+        assert school.getStudents().size() == 2;
+        assert school.getStudents().get(0).getFirstName().equals("A");
+        assert school.getStudents().get(1).getFirstName().equals("B");
+    }
+
+    @Test
+    public void atomicList() {
+        StringListProperty list = I.xml("<list><list>one</list><list>two</list></list>").as(StringListProperty.class);
+
+        assert list.getList().equals(List.of("one", "two"));
+    }
+
+    @Test
+    public void map() {
+        StringMapProperty map = I.xml("<map><map key1='one'><key2>two</key2></map></map>").as(StringMapProperty.class);
+
+        assert map.getMap().equals(Map.of("key1", "one", "key2", "two"));
+    }
+
+    @Test
+    public void atomic() {
+        assert I.xml("<value>10</value>").as(Integer.class) == 10;
+        assert I.xml("<value>text</value>").as(String.class).equals("text");
+    }
+
+    @Test
+    public void empty() {
+        assert I.xml("<root/>").find("none").as(Person.class) == null;
+    }
+
+    @Test
+    public void write() {
+        Person person = new Person();
+        person.setFirstName("Ada");
+        person.setAge(36);
+
+        XML xml = I.xml("person").write(person);
+        assert xml.attr("firstName").equals("Ada");
+        assert xml.attr("age").equals("36");
+        assert xml.attr("lastName").isEmpty();
+    }
+
+    @Test
+    public void writeList() {
+        School school = new School();
+        school.setName("S");
+        Student a = new Student();
+        a.setFirstName("A");
+        school.addStudent(a);
+        Student b = new Student();
+        b.setFirstName("B");
+        school.addStudent(b);
+
+        XML xml = I.xml("school").write(school);
+        assert xml.attr("name").equals("S");
+        assert xml.find("students").size() == 2;
+        assert xml.find("students").first().attr("firstName").equals("A");
+        assert xml.find("students").last().attr("firstName").equals("B");
+    }
+
+    @Test
+    public void roundtrip() {
+        School school = new School();
+        school.setName("S");
+        Student student = new Student();
+        student.setFirstName("A");
+        student.setAge(10);
+        school.addStudent(student);
+
+        School restored = I.xml("school").write(school).as(School.class);
+        assert restored.getName().equals("S");
+        assert restored.getStudents().size() == 1;
+        assert restored.getStudents().get(0).getFirstName().equals("A");
+        assert restored.getStudents().get(0).getAge() == 10;
+    }
+
+    @Test
+    public void stream() {
+        String xml = "<root><person firstName='A'/><person firstName='B'/></root>";
+        List<Person> people = I.xmlStream(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)), "person", Person.class)
+                .toList();
+
+        assert people.size() == 2;
+        assert people.get(0).getFirstName().equals("A");
+        assert people.get(1).getFirstName().equals("B");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2024 The SINOBU Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package kiss.xml;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import antibug.CleanRoom;
+import kiss.I;
+import kiss.XML;
+
+public class XMLStreamTest {
+
+    @RegisterExtension
+    CleanRoom room = new CleanRoom(true);
+
+    @Test
+    public void element() {
+        List<XML> items = I.xmlStream(stream("<root><item id='1'>one</item><other/><item id='2'>two</item></root>"), "item").toList();
+
+        assert items.size() == 2;
+        assert items.get(0).attr("id").equals("1");
+        assert items.get(0).text().equals("one");
+        assert items.get(1).attr("id").equals("2");
+        assert items.get(1).text().equals("two");
+    }
+
+    @Test
+    public void descendant() {
+        List<XML> items = I.xmlStream(stream("<root><item><title>A &amp; B</title><![CDATA[<raw>]]></item></root>"), "item").toList();
+
+        assert items.size() == 1;
+        assert items.get(0).find("title").text().equals("A & B");
+        assert items.get(0).text().equals("A & B<raw>");
+    }
+
+    @Test
+    public void nested() {
+        List<XML> items = I.xmlStream(stream("<root><item><item/></item></root>"), "item").toList();
+
+        assert items.size() == 1;
+        assert items.get(0).children().size() == 1;
+    }
+
+    @Test
+    public void namespace() {
+        List<XML> items = I.xmlStream(stream("<root xmlns:m='urn:m'><m:item m:id='1'/></root>"), "m:item").toList();
+
+        assert items.size() == 1;
+        assert items.get(0).to().getNamespaceURI().equals("urn:m");
+        assert items.get(0).attr("m:id").equals("1");
+    }
+
+    @Test
+    public void none() {
+        assert I.xmlStream(stream("<root><other/></root>"), "item").toList().isEmpty();
+    }
+
+    @Test
+    public void dispose() {
+        List<XML> items = I.xmlStream(stream("<root><item id='1'/><item id='2'/><item id='3'/></root>"), "item").take(1).toList();
+
+        assert items.size() == 1;
+        assert items.get(0).attr("id").equals("1");
+    }
+
+    @Test
+    public void invalid() {
+        Throwable[] error = new Throwable[1];
+        I.xmlStream(stream("<root><item>"), "item").to(e -> {
+        }, e -> error[0] = e);
+
+        assert error[0] != null;
+    }
+
+    @Test
+    public void path() {
+        List<XML> items = I.xmlStream(room.locateFile("test.xml", "<root><item/><item/></root>"), "item").toList();
+
+        assert items.size() == 2;
+    }
+
+    @Test
+    public void large() {
+        int size = 100000;
+        InputStream input = new InputStream() {
+
+            private byte[] bytes = "<root>".getBytes();
+
+            private int index = 0;
+
+            private int count = 0;
+
+            @Override
+            public int read() {
+                if (index == bytes.length) {
+                    if (count == size + 1) return -1;
+                    bytes = (count++ == size ? "</root>" : "<item><value>" + count + "</value></item>").getBytes();
+                    index = 0;
+                }
+                return bytes[index++];
+            }
+        };
+
+        assert I.xmlStream(input, "item").count().to().exact() == size;
+    }
+
+    private static InputStream stream(String xml) {
+        return new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8));
+    }
+}
\ No newline at end of file
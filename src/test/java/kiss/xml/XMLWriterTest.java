@@ -9,8 +9,11 @@
  */
 package kiss.xml;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
@@ -150,4 +153,60 @@ public class XMLWriterTest {
 
         assert out.toString().equals("<root><child/></root>");
     }
+
+    @Test
+    public void outputStream() {
+        XML root = I.xml("<root attr='&amp;'><child>text テキスト 😀</child><child/></root>");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        root.to(out, "\t");
+
+        assert out.toString(StandardCharsets.UTF_8).equals(normalize("""
+                <root attr="&amp;">
+                    <child>text テキスト 😀</child>
+                    <child/>
+                </root>
+                """));
+    }
+
+    @Test
+    public void outputStreamLargeText() {
+        String text = "テキスト&".repeat(5000);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        I.xml("root").text(text).to(out, null);
+
+        assert out.toString(StandardCharsets.UTF_8).equals("<root>" + XML.escape(text) + "</root>");
+    }
+
+    @Test
+    public void outputStreamSurrogatePairAtBufferBoundary() {
+        for (int i = 8180; i < 8200; i++) {
+            String text = "a".repeat(i) + "😀" + "b";
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            I.xml("root").text(text).to(out, null);
+
+            assert Arrays.equals(out.toByteArray(), ("<root>" + text + "</root>").getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void outputStreamUnpairedSurrogate() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        I.xml("root").text("a\uD83D").to(out, null);
+
+        assert out.toString(StandardCharsets.UTF_8).equals("<root>a?</root>");
+    }
+
+    @Test
+    public void deepNesting() {
+        XML root = I.xml("root");
+        XML current = root;
+        for (int i = 0; i < 10000; i++) {
+            current = current.child("child");
+        }
+
+        StringBuilder out = new StringBuilder();
+        root.to(out, null);
+
+        assert out.toString().equals("<root>" + "<child>".repeat(9999) + "<child/>" + "</child>".repeat(9999) + "</root>");
+    }
 }
\ No newline at end of file